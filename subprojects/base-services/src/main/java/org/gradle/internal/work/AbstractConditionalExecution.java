@@ -23,9 +23,11 @@
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public abstract class AbstractConditionalExecution<T> implements ConditionalExecution<T> {
     private final CountDownLatch finished = new CountDownLatch(1);
+    private final AtomicBoolean started = new AtomicBoolean();
     private final RunnableFuture<T> runnable;
 
     public AbstractConditionalExecution(final Callable<T> callable) {
@@ -37,6 +39,11 @@ public Runnable getExecution() {
         return runnable;
     }
 
+    @Override
+    public boolean markStarted() {
+        return started.compareAndSet(false, true);
+    }
+
     @Override
     public T await() {
         boolean interrupted = false;
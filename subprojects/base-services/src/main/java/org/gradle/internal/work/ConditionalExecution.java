@@ -25,6 +25,12 @@
      */
     Runnable getExecution();
 
+    /**
+     * Marks this execution as started. Returns false when the execution has already been started by another thread,
+     * in which case the caller must not run it.
+     */
+    boolean markStarted();
+
     /**
      * Blocks waiting for this execution to complete. Returns a result provided by the execution.
      */
@@ -183,6 +183,10 @@ private ConditionalExecution<?> getReadyExecution() {
          * Executes a conditional execution and then releases it's resource lock
          */
         private void runExecution(final ConditionalExecution<?> execution) {
+            if (!execution.markStarted()) {
+                // Already run by another thread, for example the thread waiting for it to complete
+                return;
+            }
             try {
                 execution.getExecution().run();
             } finally {
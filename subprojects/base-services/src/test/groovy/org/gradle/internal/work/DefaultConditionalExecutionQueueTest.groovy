@@ -197,6 +197,26 @@ class DefaultConditionalExecutionQueueTest extends ConcurrentSpec {
         result == "foo"
     }
 
+    def "does not run an execution that has already been started by another thread"() {
+        def ran = false
+        def execution = testExecution({
+            ran = true
+            return "foo"
+        })
+
+        when:
+        async {
+            execution.markStarted()
+            queue.submit(execution)
+            queue.submit(testExecution({ instant.secondExecutionRan }))
+            thread.blockUntil.secondExecutionRan
+        }
+
+        then:
+        !ran
+        !execution.complete
+    }
+
     def "stopping the queue stops the underlying executor"() {
         ExecutorFactory factory = Mock(ExecutorFactory)
         ManagedExecutor executor = Mock(ManagedExecutor)
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution.taskgraph;
+
+import com.google.common.collect.Lists;
+import org.gradle.api.NonNullApi;
+import org.gradle.api.Task;
+import org.gradle.api.execution.TaskExecutionGraph;
+import org.gradle.api.execution.TaskExecutionGraphListener;
+import org.gradle.internal.execution.history.impl.SpeculativeExecutionHistoryStore;
+
+/**
+ * Starts loading the execution history of every task in the graph as soon as the graph is ready,
+ * so that the up-to-date checks of the tasks do not have to wait for it once they are scheduled.
+ */
+@NonNullApi
+public class SpeculativeExecutionHistoryLoader implements TaskExecutionGraphListener {
+    private final SpeculativeExecutionHistoryStore executionHistoryStore;
+
+    public SpeculativeExecutionHistoryLoader(SpeculativeExecutionHistoryStore executionHistoryStore) {
+        this.executionHistoryStore = executionHistoryStore;
+    }
+
+    @Override
+    public void graphPopulated(TaskExecutionGraph graph) {
+        // Tasks use their path as the key for the execution history, see TaskExecution.identify()
+        executionHistoryStore.preload(Lists.transform(graph.getAllTasks(), Task::getPath));
+    }
+}
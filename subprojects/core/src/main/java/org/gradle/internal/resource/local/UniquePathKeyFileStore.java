@@ -16,20 +16,33 @@
 
 package org.gradle.internal.resource.local;
 
+import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.io.FileUtils;
 import org.gradle.api.Action;
 import org.gradle.api.NonNullApi;
 import org.gradle.internal.hash.ChecksumService;
+import org.gradle.util.internal.GFileUtils;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
 
 /**
  * Assumes that files do not need to be replaced in the filestore.
  *
  * Can be used as an optimisation if path contains a checksum of the file, as there is no point to perform the replace in that circumstance.
+ * <p>
+ * Moving a file into this store publishes it with an atomic rename, so that concurrent readers and writers, including other processes,
+ * either see no entry or a complete one. This means that moving files into this store does not need to be guarded by a lock.
  */
 @NonNullApi
 public class UniquePathKeyFileStore extends DefaultPathKeyFileStore {
+    private static final String STAGING_FILE_SUFFIX = ".part";
+    private static final int MAX_PUBLISH_ATTEMPTS = 3;
 
     public UniquePathKeyFileStore(ChecksumService checksumService, File baseDir) {
         super(checksumService, baseDir);
@@ -37,13 +50,67 @@ public UniquePathKeyFileStore(ChecksumService checksumService, File baseDir) {
 
     @Override
     public LocallyAvailableResource move(String path, File source) {
-        LocallyAvailableResource entry = super.move(path, source);
+        if (!source.exists()) {
+            throw new FileStoreException(String.format("Cannot move '%s' into filestore @ '%s' as it does not exist", source, path));
+        }
+        LocallyAvailableResource entry = entryAt(path);
+        File destination = entry.getFile();
+        if (!destination.exists()) {
+            try {
+                publish(source, destination);
+            } catch (Throwable e) {
+                throw new FileStoreException(String.format("Failed to move file '%s' into filestore at '%s' ", source, path), e);
+            }
+        }
         if (source.exists()) {
             FileUtils.deleteQuietly(source);
         }
         return entry;
     }
 
+    private void publish(File source, File destination) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            GFileUtils.parentMkdirs(destination);
+            try {
+                publishOnce(source, destination);
+                return;
+            } catch (NoSuchFileException e) {
+                // Cache cleanup may have deleted the empty parent directory of the entry after it was created, so create it again
+                if (attempt >= MAX_PUBLISH_ATTEMPTS || !source.exists()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void publishOnce(File source, File destination) throws IOException {
+        // Stage the entry next to its destination, so that the final rename does not cross file systems
+        File staging = new File(destination.getParentFile(), destination.getName() + "-" + UUID.randomUUID() + STAGING_FILE_SUFFIX);
+        try {
+            stage(source, staging);
+            try {
+                Files.move(staging.toPath(), destination.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // Another process may have published the entry in the meantime, which has the same content
+                if (!destination.exists()) {
+                    throw e;
+                }
+            }
+        } finally {
+            FileUtils.deleteQuietly(staging);
+        }
+    }
+
+    @VisibleForTesting
+    protected void stage(File source, File staging) throws IOException {
+        try {
+            Files.move(source.toPath(), staging.toPath());
+        } catch (DirectoryNotEmptyException e) {
+            // Directories can only be renamed within a file system
+            GFileUtils.moveDirectory(source, staging);
+        }
+    }
+
     @Override
     protected void doAdd(File destination, Action<File> action) {
         if (!destination.exists()) {
@@ -15,6 +15,7 @@
  */
 package org.gradle.internal.service.scopes;
 
+import org.gradle.api.execution.TaskExecutionGraphListener;
 import org.gradle.api.internal.DocumentationRegistry;
 import org.gradle.api.internal.cache.StringInterner;
 import org.gradle.api.internal.changedetection.state.DefaultExecutionHistoryCacheAccess;
@@ -25,8 +26,13 @@
 import org.gradle.cache.internal.InMemoryCacheDecoratorFactory;
 import org.gradle.cache.scopes.BuildScopedCacheBuilderFactory;
 import org.gradle.caching.internal.controller.BuildCacheController;
+import org.gradle.execution.taskgraph.SpeculativeExecutionHistoryLoader;
 import org.gradle.initialization.BuildCancellationToken;
+import org.gradle.internal.buildoption.InternalFlag;
+import org.gradle.internal.buildoption.InternalOptions;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.enterprise.core.GradleEnterprisePluginManager;
+import org.gradle.internal.event.ListenerBroadcast;
 import org.gradle.internal.event.ListenerManager;
 import org.gradle.internal.execution.BuildOutputCleanupRegistry;
 import org.gradle.internal.execution.ExecutionEngine;
@@ -41,6 +47,7 @@
 import org.gradle.internal.execution.history.changes.ExecutionStateChangeDetector;
 import org.gradle.internal.execution.history.impl.DefaultExecutionHistoryStore;
 import org.gradle.internal.execution.history.impl.DefaultOutputFilesRepository;
+import org.gradle.internal.execution.history.impl.SpeculativeExecutionHistoryStore;
 import org.gradle.internal.execution.impl.DefaultExecutionEngine;
 import org.gradle.internal.execution.steps.AssignWorkspaceStep;
 import org.gradle.internal.execution.steps.BuildCacheStep;
@@ -73,6 +80,8 @@
 import org.gradle.internal.operations.BuildOperationExecutor;
 import org.gradle.internal.operations.CurrentBuildOperationRef;
 import org.gradle.internal.scopeids.id.BuildInvocationScopeId;
+import org.gradle.internal.service.ServiceRegistration;
+import org.gradle.internal.service.ServiceRegistry;
 import org.gradle.internal.vfs.VirtualFileSystem;
 import org.gradle.util.GradleVersion;
 
@@ -82,6 +91,20 @@
 import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
 
 public class ExecutionGradleServices {
+    /**
+     * When enabled, the previous execution state of all scheduled tasks is loaded in the background as soon as the task graph is ready.
+     */
+    public static final InternalFlag SPECULATIVE_HISTORY_LOADING = new InternalFlag("org.gradle.internal.execution.speculative-history-loading");
+
+    /**
+     * Starts loading the execution history of the tasks in the graph as soon as the graph is ready, when {@link #SPECULATIVE_HISTORY_LOADING} is enabled.
+     */
+    void configure(ServiceRegistration registration, InternalOptions internalOptions, ListenerBroadcast<TaskExecutionGraphListener> graphListeners, ServiceRegistry services) {
+        if (internalOptions.getOption(SPECULATIVE_HISTORY_LOADING).get()) {
+            graphListeners.add(new SpeculativeExecutionHistoryLoader((SpeculativeExecutionHistoryStore) services.get(ExecutionHistoryStore.class)));
+        }
+    }
+
     ExecutionHistoryCacheAccess createCacheAccess(BuildScopedCacheBuilderFactory cacheBuilderFactory) {
         return new DefaultExecutionHistoryCacheAccess(cacheBuilderFactory);
     }
@@ -90,14 +113,23 @@ ExecutionHistoryStore createExecutionHistoryStore(
         ExecutionHistoryCacheAccess executionHistoryCacheAccess,
         InMemoryCacheDecoratorFactory inMemoryCacheDecoratorFactory,
         StringInterner stringInterner,
-        ClassLoaderHierarchyHasher classLoaderHasher
+        ClassLoaderHierarchyHasher classLoaderHasher,
+        InternalOptions internalOptions,
+        ExecutorFactory executorFactory
     ) {
-        return new DefaultExecutionHistoryStore(
+        ExecutionHistoryStore executionHistoryStore = new DefaultExecutionHistoryStore(
             executionHistoryCacheAccess,
             inMemoryCacheDecoratorFactory,
             stringInterner,
             classLoaderHasher
         );
+        if (internalOptions.getOption(SPECULATIVE_HISTORY_LOADING).get()) {
+            return new SpeculativeExecutionHistoryStore(
+                executionHistoryStore,
+                executorFactory.create("Speculative execution history loader", Runtime.getRuntime().availableProcessors())
+            );
+        }
+        return executionHistoryStore;
     }
 
     OutputFilesRepository createOutputFilesRepository(BuildScopedCacheBuilderFactory cacheBuilderFactory, InMemoryCacheDecoratorFactory inMemoryCacheDecoratorFactory) {
@@ -23,6 +23,8 @@ import org.gradle.util.UsesNativeServices
 import org.junit.Rule
 import spock.lang.Specification
 
+import java.util.concurrent.atomic.AtomicInteger
+
 @UsesNativeServices
 class UniquePathKeyFileStoreTest extends Specification {
     @Rule
@@ -85,4 +87,60 @@ class UniquePathKeyFileStoreTest extends Specification {
         fileInStore.file == file
         !source.exists()
     }
+
+    def "move publishes file without leaving staging files behind"() {
+        setup:
+        def source = temporaryFolder.createFile("some-file")
+        source.text = 'content'
+
+        when:
+        def fileInStore = uniquePathKeyFileStore.move("a/b/c", source)
+
+        then:
+        fileInStore.file == temporaryFolder.file("fsbase/a/b/c")
+        fileInStore.file.text == 'content'
+        temporaryFolder.file("fsbase/a/b").list() as List == ["c"]
+        !source.exists()
+    }
+
+    def "move publishes directory"() {
+        setup:
+        def source = temporaryFolder.createDir("some-dir")
+        source.file("nested/file").text = 'content'
+
+        when:
+        def fileInStore = uniquePathKeyFileStore.move("a/b", source)
+
+        then:
+        fileInStore.file == temporaryFolder.file("fsbase/a/b")
+        fileInStore.file.file("nested/file").text == 'content'
+        temporaryFolder.file("fsbase/a").list() as List == ["b"]
+        !source.exists()
+    }
+
+    def "move recreates parent directory when it is deleted before the file is moved into it"() {
+        setup:
+        def source = temporaryFolder.createFile("some-file")
+        source.text = 'content'
+        def stagings = new AtomicInteger()
+        def fileStore = new UniquePathKeyFileStore(TestUtil.checksumService, temporaryFolder.file("fsbase")) {
+            @Override
+            protected void stage(File src, File staging) throws IOException {
+                if (stagings.getAndIncrement() == 0) {
+                    // Simulate cache cleanup removing the empty parent directory
+                    assert staging.parentFile.delete()
+                }
+                super.stage(src, staging)
+            }
+        }
+
+        when:
+        def fileInStore = fileStore.move("a/b/c", source)
+
+        then:
+        stagings.get() == 2
+        fileInStore.file.text == 'content'
+        temporaryFolder.file("fsbase/a/b").list() as List == ["c"]
+        !source.exists()
+    }
 }
@@ -1,5 +1,6 @@
 plugins {
     id("gradlebuild.distribution.implementation-java")
+    id("gradlebuild.jmh")
 }
 
 description = """This project contains most of the dependency management logic of Gradle:
@@ -116,6 +117,12 @@ dependencies {
     }
     crossVersionTestDistributionRuntimeOnly(project(":distributions-core"))
     crossVersionTestImplementation(libs.jettyWebApp)
+
+    jmhImplementation(platform(project(":distributions-dependencies")))
+    jmhImplementation(testFixtures(project(":core")))
+    jmhRuntimeOnly(project(":distributions-core")) {
+        because("Benchmarks create attribute schemas with the global services of a Gradle distribution.")
+    }
 }
 
 packageCycles {
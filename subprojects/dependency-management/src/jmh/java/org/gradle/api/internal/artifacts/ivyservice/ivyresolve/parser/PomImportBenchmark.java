@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.internal.artifacts.DefaultImmutableModuleIdentifierFactory;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.DefaultVersionComparator;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.DefaultVersionSelectorScheme;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionParser;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionSelector;
+import org.gradle.api.internal.artifacts.repositories.metadata.MavenMutableModuleMetadataFactory;
+import org.gradle.api.internal.component.ArtifactType;
+import org.gradle.api.internal.file.TestFiles;
+import org.gradle.internal.component.external.model.ModuleDependencyMetadata;
+import org.gradle.internal.component.external.model.PreferJavaRuntimeVariant;
+import org.gradle.internal.resource.local.FileResourceRepository;
+import org.gradle.internal.resource.local.LocallyAvailableExternalResource;
+import org.gradle.util.AttributeTestUtil;
+import org.gradle.util.TestUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses many POMs which import the same large BOM, as the modules of a platform do, with and without sharing the parsed
+ * dependency management of the BOM between the POMs.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class PomImportBenchmark {
+    private static final int MODULES = 200;
+    private static final int MANAGED_DEPENDENCIES = 500;
+
+    @Param({"true", "false"})
+    boolean cached;
+
+    private File baseDir;
+    private FileResourceRepository fileRepository;
+    private MavenMutableModuleMetadataFactory metadataFactory;
+    private DescriptorParseContext parseContext;
+    private List<File> modules;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        baseDir = Files.createTempDirectory("pom-import").toFile();
+        fileRepository = TestFiles.fileRepository();
+        metadataFactory = new MavenMutableModuleMetadataFactory(new DefaultImmutableModuleIdentifierFactory(), AttributeTestUtil.attributesFactory(), TestUtil.objectInstantiator(), new PreferJavaRuntimeVariant(TestUtil.objectInstantiator()));
+
+        StringBuilder managed = new StringBuilder();
+        for (int i = 0; i < MANAGED_DEPENDENCIES; i++) {
+            managed.append("<dependency><groupId>org.managed</groupId><artifactId>managed-").append(i).append("</artifactId><version>${managed.version}</version></dependency>");
+        }
+        File bomParent = write("bom-parent.xml", "<project><modelVersion>4.0.0</modelVersion><groupId>org.platform</groupId><artifactId>bom-parent</artifactId><version>1.0</version>"
+            + "<properties><managed.version>2.0</managed.version></properties></project>");
+        File bom = write("bom.xml", "<project><modelVersion>4.0.0</modelVersion><artifactId>bom</artifactId>"
+            + "<parent><groupId>org.platform</groupId><artifactId>bom-parent</artifactId><version>1.0</version></parent>"
+            + "<dependencyManagement><dependencies>" + managed + "</dependencies></dependencyManagement></project>");
+        LocallyAvailableExternalResource bomResource = fileRepository.resource(bom);
+        LocallyAvailableExternalResource bomParentResource = fileRepository.resource(bomParent);
+        parseContext = new DescriptorParseContext() {
+            @Override
+            public LocallyAvailableExternalResource getMetaDataArtifact(ModuleComponentIdentifier componentIdentifier, ArtifactType artifactType) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public LocallyAvailableExternalResource getMetaDataArtifact(ModuleDependencyMetadata dependencyMetadata, VersionSelector acceptor, ArtifactType artifactType) {
+                return dependencyMetadata.getSelector().getModule().equals("bom") ? bomResource : bomParentResource;
+            }
+        };
+
+        modules = new ArrayList<>();
+        for (int i = 0; i < MODULES; i++) {
+            modules.add(write("module-" + i + ".xml", "<project><modelVersion>4.0.0</modelVersion><groupId>org.platform</groupId><artifactId>module-" + i + "</artifactId><version>1.0</version>"
+                + "<dependencyManagement><dependencies><dependency><groupId>org.platform</groupId><artifactId>bom</artifactId><version>1.0</version><type>pom</type><scope>import</scope></dependency></dependencies></dependencyManagement>"
+                + "<dependencies><dependency><groupId>org.managed</groupId><artifactId>managed-" + (i % MANAGED_DEPENDENCIES) + "</artifactId></dependency></dependencies></project>"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(baseDir);
+    }
+
+    @Benchmark
+    public void parseModulesOfPlatform(Blackhole bh) {
+        // The cache is build tree scoped, so each invocation starts with an empty one like a new build
+        GradlePomModuleDescriptorParser parser = createParser();
+        for (File module : modules) {
+            if (!cached) {
+                // Without sharing, every POM parses the imported BOM and its parent again
+                parser = createParser();
+            }
+            bh.consume(parser.parseMetaData(parseContext, module).getResult());
+        }
+    }
+
+    private GradlePomModuleDescriptorParser createParser() {
+        return new GradlePomModuleDescriptorParser(new DefaultVersionSelectorScheme(new DefaultVersionComparator(), new VersionParser()), new DefaultImmutableModuleIdentifierFactory(), fileRepository, metadataFactory, new ImportedDependencyMgtCache());
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(baseDir, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
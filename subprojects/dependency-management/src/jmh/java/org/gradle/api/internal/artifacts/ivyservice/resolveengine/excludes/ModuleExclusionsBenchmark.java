@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes;
+
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier;
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes.specs.ExcludeSpec;
+import org.gradle.internal.component.external.descriptor.DefaultExclude;
+import org.gradle.internal.component.model.ExcludeMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Combines and evaluates exclusions through the full {@link ModuleExclusions} factory chain, like the graph
+ * builder does for a graph where many modules declare exclusions.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ModuleExclusionsBenchmark {
+    private static final int GROUPS = 50;
+    private static final int MODULES_PER_GROUP = 20;
+    private static final int NODES = 500;
+    private static final int EDGES_PER_NODE = 10;
+
+    private final Random random = new Random(42);
+    private List<ModuleIdentifier> modules;
+    private List<List<ExcludeMetadata>> nodeExcludes;
+    private List<ExcludeSpec> combinedExclusions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        modules = new ArrayList<>();
+        for (int g = 0; g < GROUPS; g++) {
+            for (int m = 0; m < MODULES_PER_GROUP; m++) {
+                modules.add(DefaultModuleIdentifier.newId("org.group" + g, "module" + m));
+            }
+        }
+        nodeExcludes = new ArrayList<>();
+        for (int n = 0; n < NODES; n++) {
+            List<ExcludeMetadata> excludes = new ArrayList<>();
+            for (int e = random.nextInt(4); e > 0; e--) {
+                excludes.add(randomExclude());
+            }
+            nodeExcludes.add(excludes);
+        }
+        combinedExclusions = combine(new ModuleExclusions());
+    }
+
+    private ExcludeMetadata randomExclude() {
+        ModuleIdentifier module = modules.get(random.nextInt(modules.size()));
+        switch (random.nextInt(3)) {
+            case 0:
+                return new DefaultExclude(DefaultModuleIdentifier.newId(module.getGroup(), "*"));
+            case 1:
+                return new DefaultExclude(DefaultModuleIdentifier.newId("*", module.getName()));
+            default:
+                return new DefaultExclude(module);
+        }
+    }
+
+    /**
+     * Walks down a chain of nodes, where each node excludes what its own declarations and all the nodes above it exclude,
+     * and where every other node is also reached through a path which only shares some of these exclusions.
+     */
+    private List<ExcludeSpec> combine(ModuleExclusions moduleExclusions) {
+        List<ExcludeSpec> result = new ArrayList<>(NODES);
+        ExcludeSpec inherited = moduleExclusions.nothing();
+        for (int n = 0; n < NODES; n++) {
+            ExcludeSpec declared = moduleExclusions.excludeAny(nodeExcludes.get(n));
+            ExcludeSpec viaThisPath = moduleExclusions.excludeAny(inherited, declared);
+            if (n % 2 == 1) {
+                ExcludeSpec viaOtherPath = moduleExclusions.excludeAny(declared, moduleExclusions.excludeAny(nodeExcludes.get(n - 1)));
+                viaThisPath = moduleExclusions.excludeAll(viaThisPath, viaOtherPath);
+            }
+            result.add(viaThisPath);
+            inherited = viaThisPath;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void combineExclusions(Blackhole bh) {
+        bh.consume(combine(new ModuleExclusions()));
+    }
+
+    @Benchmark
+    public void checkExclusions(Blackhole bh) {
+        int index = 0;
+        for (ExcludeSpec exclusions : combinedExclusions) {
+            for (int e = 0; e < EDGES_PER_NODE; e++) {
+                index = (index + 31) % modules.size();
+                bh.consume(exclusions.excludes(modules.get(index)));
+            }
+        }
+    }
+}
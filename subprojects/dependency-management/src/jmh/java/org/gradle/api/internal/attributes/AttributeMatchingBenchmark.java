@@ -0,0 +1,193 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.attributes;
+
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.attributes.AttributeCompatibilityRule;
+import org.gradle.api.attributes.AttributeDisambiguationRule;
+import org.gradle.api.attributes.CompatibilityCheckDetails;
+import org.gradle.api.attributes.MultipleCandidatesDetails;
+import org.gradle.internal.component.model.AttributeMatchingExplanationBuilder;
+import org.gradle.internal.component.model.AttributeSelectionSchema;
+import org.gradle.internal.component.model.CachingAttributeSelectionSchema;
+import org.gradle.internal.component.model.DefaultAttributeMatcher;
+import org.gradle.util.AttributeTestUtil;
+import org.gradle.util.SnapshotTestUtil;
+import org.gradle.util.TestUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects variants of a Kotlin Multiplatform-like component, which publishes a variant per target, usage and build
+ * type, with and without caching the outcome of the compatibility and disambiguation rules.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class AttributeMatchingBenchmark {
+    private static final Attribute<String> USAGE = Attribute.of("usage", String.class);
+    private static final Attribute<String> PLATFORM = Attribute.of("platform.type", String.class);
+    private static final Attribute<String> TARGET = Attribute.of("native.target", String.class);
+    private static final Attribute<String> BUILD_TYPE = Attribute.of("build.type", String.class);
+    private static final Attribute<String> CATEGORY = Attribute.of("category", String.class);
+
+    private static final String[] USAGES = {"api", "runtime"};
+    private static final String[] PLATFORMS = {"jvm", "androidJvm", "js", "wasm", "native"};
+    private static final String[] TARGETS = {"linux_x64", "linux_arm64", "macos_x64", "macos_arm64", "ios_x64", "ios_arm64", "ios_simulator_arm64", "mingw_x64"};
+    private static final String[] BUILD_TYPES = {"debug", "release"};
+
+    @Param({"true", "false"})
+    boolean cached;
+
+    private AttributeSelectionSchema selectionSchema;
+    private List<AttributeContainerInternal> variants;
+    private List<AttributeContainerInternal> requests;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DefaultAttributesSchema schema = new DefaultAttributesSchema(TestUtil.instantiatorFactory(), SnapshotTestUtil.isolatableFactory());
+        schema.attribute(USAGE).getCompatibilityRules().add(UsageCompatibilityRule.class);
+        schema.attribute(PLATFORM).getCompatibilityRules().add(PlatformCompatibilityRule.class);
+        schema.attribute(PLATFORM).getDisambiguationRules().add(PreferSpecificPlatformRule.class);
+        schema.attribute(TARGET);
+        schema.attribute(BUILD_TYPE).getDisambiguationRules().add(PreferReleaseRule.class);
+        schema.attribute(CATEGORY);
+
+        AttributeSelectionSchema uncached = schema.selectionSchema(EmptySchema.INSTANCE);
+        selectionSchema = cached ? new CachingAttributeSelectionSchema(uncached) : uncached;
+
+        ImmutableAttributesFactory factory = AttributeTestUtil.attributesFactory();
+        variants = new ArrayList<>();
+        for (String usage : USAGES) {
+            for (String buildType : BUILD_TYPES) {
+                variants.add(variant(factory, usage, "common", null, buildType));
+                for (String platform : PLATFORMS) {
+                    if (platform.equals("native")) {
+                        for (String target : TARGETS) {
+                            variants.add(variant(factory, usage, platform, target, buildType));
+                        }
+                    } else {
+                        variants.add(variant(factory, usage, platform, null, buildType));
+                    }
+                }
+            }
+        }
+        requests = new ArrayList<>();
+        for (String usage : USAGES) {
+            for (String platform : PLATFORMS) {
+                if (platform.equals("native")) {
+                    for (String target : TARGETS) {
+                        requests.add(request(factory, usage, platform, target));
+                    }
+                } else {
+                    requests.add(request(factory, usage, platform, null));
+                }
+            }
+        }
+    }
+
+    private static AttributeContainerInternal variant(ImmutableAttributesFactory factory, String usage, String platform, String target, String buildType) {
+        ImmutableAttributes attributes = request(factory, usage, platform, target);
+        attributes = factory.concat(attributes, BUILD_TYPE, buildType);
+        return factory.concat(attributes, CATEGORY, "library");
+    }
+
+    private static ImmutableAttributes request(ImmutableAttributesFactory factory, String usage, String platform, String target) {
+        ImmutableAttributes attributes = factory.of(USAGE, usage);
+        attributes = factory.concat(attributes, PLATFORM, platform);
+        if (target != null) {
+            attributes = factory.concat(attributes, TARGET, target);
+        }
+        return attributes;
+    }
+
+    @Benchmark
+    public void checkEachVariant(Blackhole bh) {
+        DefaultAttributeMatcher matcher = new DefaultAttributeMatcher(selectionSchema);
+        for (AttributeContainerInternal request : requests) {
+            for (AttributeContainerInternal variant : variants) {
+                bh.consume(matcher.isMatching(variant, request));
+            }
+        }
+    }
+
+    @Benchmark
+    public void selectAmongVariants(Blackhole bh) {
+        // A new matcher per selection, as its query cache would otherwise answer all the selections after the first iteration
+        for (AttributeContainerInternal request : requests) {
+            DefaultAttributeMatcher matcher = new DefaultAttributeMatcher(selectionSchema);
+            bh.consume(matcher.matches(variants, request, AttributeMatchingExplanationBuilder.NO_OP));
+        }
+    }
+
+    public static class UsageCompatibilityRule implements AttributeCompatibilityRule<String> {
+        @Override
+        public void execute(CompatibilityCheckDetails<String> details) {
+            if ("runtime".equals(details.getConsumerValue()) && "api".equals(details.getProducerValue())) {
+                details.compatible();
+            }
+        }
+    }
+
+    public static class PlatformCompatibilityRule implements AttributeCompatibilityRule<String> {
+        @Override
+        public void execute(CompatibilityCheckDetails<String> details) {
+            String producer = details.getProducerValue();
+            if ("common".equals(producer) || ("jvm".equals(details.getConsumerValue()) && "androidJvm".equals(producer))) {
+                details.compatible();
+            }
+        }
+    }
+
+    public static class PreferSpecificPlatformRule implements AttributeDisambiguationRule<String> {
+        @Override
+        public void execute(MultipleCandidatesDetails<String> details) {
+            for (String candidate : details.getCandidateValues()) {
+                if (candidate.equals(details.getConsumerValue())) {
+                    details.closestMatch(candidate);
+                    return;
+                }
+            }
+            for (String candidate : details.getCandidateValues()) {
+                if (!"common".equals(candidate)) {
+                    details.closestMatch(candidate);
+                }
+            }
+        }
+    }
+
+    public static class PreferReleaseRule implements AttributeDisambiguationRule<String> {
+        @Override
+        public void execute(MultipleCandidatesDetails<String> details) {
+            if (details.getCandidateValues().contains("release")) {
+                details.closestMatch("release");
+            }
+        }
+    }
+}
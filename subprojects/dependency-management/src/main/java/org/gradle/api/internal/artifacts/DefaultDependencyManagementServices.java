@@ -56,6 +56,7 @@
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.ResolveIvyFactory;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.GradleModuleMetadataParser;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.GradlePomModuleDescriptorParser;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.ImportedDependencyMgtCache;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionParser;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionSelectorScheme;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification.DependencyVerificationOverride;
@@ -84,6 +85,7 @@
 import org.gradle.api.internal.artifacts.transform.DefaultVariantTransformRegistry;
 import org.gradle.api.internal.artifacts.transform.ImmutableTransformWorkspaceServices;
 import org.gradle.api.internal.artifacts.transform.MutableTransformWorkspaceServices;
+import org.gradle.api.internal.artifacts.transform.ReadOnlyTransformWorkspaceStore;
 import org.gradle.api.internal.artifacts.transform.TransformActionScheme;
 import org.gradle.api.internal.artifacts.transform.TransformExecutionListener;
 import org.gradle.api.internal.artifacts.transform.TransformInvocationFactory;
@@ -223,7 +225,8 @@ TransformInvocationFactory createTransformInvocationFactory(
                 FileCollectionFactory fileCollectionFactory,
                 ProjectStateRegistry projectStateRegistry,
                 BuildOperationExecutor buildOperationExecutor,
-                BuildOperationProgressEventEmitter progressEventEmitter
+                BuildOperationProgressEventEmitter progressEventEmitter,
+                ReadOnlyTransformWorkspaceStore readOnlyTransformWorkspaceStore
         ) {
             return new DefaultTransformInvocationFactory(
                 executionEngine,
@@ -233,7 +236,8 @@ TransformInvocationFactory createTransformInvocationFactory(
                 fileCollectionFactory,
                 projectStateRegistry,
                 buildOperationExecutor,
-                progressEventEmitter
+                progressEventEmitter,
+                readOnlyTransformWorkspaceStore
             );
         }
 
@@ -300,7 +304,8 @@ BaseRepositoryFactory createBaseRepositoryFactory(
                 DefaultUrlArtifactRepository.Factory urlArtifactRepositoryFactory,
                 ChecksumService checksumService,
                 ProviderFactory providerFactory,
-                VersionParser versionParser
+                VersionParser versionParser,
+                ImportedDependencyMgtCache importedDependencyMgtCache
         ) {
             return new DefaultBaseRepositoryFactory(
                 localMavenRepositoryLocator,
@@ -310,7 +315,7 @@ BaseRepositoryFactory createBaseRepositoryFactory(
                 locallyAvailableResourceFinder,
                 fileStoreAndIndexProvider.getArtifactIdentifierFileStore(),
                 fileStoreAndIndexProvider.getExternalResourceFileStore(),
-                new GradlePomModuleDescriptorParser(versionSelectorScheme, moduleIdentifierFactory, fileResourceRepository, metadataFactory),
+                new GradlePomModuleDescriptorParser(versionSelectorScheme, moduleIdentifierFactory, fileResourceRepository, metadataFactory, importedDependencyMgtCache),
                 new GradleModuleMetadataParser(attributesFactory, moduleIdentifierFactory, instantiator),
                 authenticationSchemeRegistry,
                 ivyContextManager,
@@ -25,6 +25,7 @@
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.ModuleDescriptorHashCodec;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.ModuleDescriptorHashModuleSource;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.StartParameterResolutionOverride;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.ImportedDependencyMgtCache;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.AbstractModuleMetadataCache;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.FileStoreAndIndexProvider;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.InMemoryModuleMetadataCache;
@@ -102,6 +103,7 @@ void configure(ServiceRegistration registration) {
         registration.add(ThisBuildOnlyComponentDetailsSerializer.class);
         registration.add(ThisBuildOnlySelectedVariantSerializer .class);
         registration.add(ConnectionFailureRepositoryDisabler.class);
+        registration.add(ImportedDependencyMgtCache.class);
     }
 
     SimpleMapInterner createStringInterner() {
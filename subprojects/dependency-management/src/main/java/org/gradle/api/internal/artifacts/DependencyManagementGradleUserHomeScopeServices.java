@@ -19,9 +19,11 @@
 import org.gradle.BuildAdapter;
 import org.gradle.BuildResult;
 import org.gradle.api.internal.DocumentationRegistry;
+import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheMetadata;
 import org.gradle.api.internal.artifacts.ivyservice.ArtifactCachesProvider;
 import org.gradle.api.internal.artifacts.ivyservice.DefaultArtifactCaches;
 import org.gradle.api.internal.artifacts.transform.ImmutableTransformWorkspaceServices;
+import org.gradle.api.internal.artifacts.transform.ReadOnlyTransformWorkspaceStore;
 import org.gradle.api.internal.artifacts.transform.ToPlannedTransformStepConverter;
 import org.gradle.api.internal.cache.CacheConfigurationsInternal;
 import org.gradle.api.internal.cache.StringInterner;
@@ -38,6 +40,7 @@
 import org.gradle.internal.execution.history.ExecutionHistoryCacheAccess;
 import org.gradle.internal.execution.history.ExecutionHistoryStore;
 import org.gradle.internal.execution.history.impl.DefaultExecutionHistoryStore;
+import org.gradle.internal.file.Deleter;
 import org.gradle.internal.file.FileAccessTimeJournal;
 import org.gradle.internal.hash.ClassLoaderHierarchyHasher;
 
@@ -119,4 +122,13 @@ ImmutableTransformWorkspaceServices createTransformWorkspaceServices(
             cacheConfigurations
         );
     }
+
+    ReadOnlyTransformWorkspaceStore createReadOnlyTransformWorkspaceStore(ArtifactCachesProvider artifactCaches, Deleter deleter) {
+        return new ReadOnlyTransformWorkspaceStore(
+            artifactCaches.getReadOnlyCacheMetadata()
+                .map(ArtifactCacheMetadata::getTransformsStoreDirectory)
+                .orElse(null),
+            deleter
+        );
+    }
 }
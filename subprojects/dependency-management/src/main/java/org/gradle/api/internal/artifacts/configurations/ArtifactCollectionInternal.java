@@ -17,6 +17,7 @@
 package org.gradle.api.internal.artifacts.configurations;
 
 import org.gradle.api.artifacts.ArtifactCollection;
+import org.gradle.api.internal.artifacts.ivyservice.ArtifactFileResolutionStatistics;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact.ArtifactVisitor;
 
 public interface ArtifactCollectionInternal extends ArtifactCollection {
@@ -24,5 +25,10 @@ public interface ArtifactCollectionInternal extends ArtifactCollection {
 
     boolean isLenient();
 
+    /**
+     * Returns how the files of the artifacts of this collection were resolved, when they are resolved on first access.
+     */
+    ArtifactFileResolutionStatistics getFileResolutionStatistics();
+
     void visitArtifacts(ArtifactVisitor visitor);
 }
@@ -19,6 +19,7 @@
 import org.gradle.api.artifacts.ArtifactCollection;
 import org.gradle.api.artifacts.result.ResolvedArtifactResult;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.internal.artifacts.ivyservice.ArtifactFileResolutionStatistics;
 import org.gradle.api.internal.artifacts.ivyservice.ResolvedArtifactCollectingVisitor;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact.ArtifactVisitor;
 import org.gradle.api.internal.provider.BuildableBackedSetProvider;
@@ -32,16 +33,28 @@
 import java.util.Set;
 import java.util.function.Supplier;
 
+/**
+ * The default {@link org.gradle.api.artifacts.ArtifactCollection} implementation.
+ *
+ * When {@value #LAZY_FILES_PROPERTY} is set, the files of the artifacts are not resolved along with the artifacts, but when {@link ResolvedArtifactResult#getFile()}
+ * is first called, so that consumers which only use some of the artifacts do not download the others. The files of the whole collection are still resolved in parallel
+ * when requested through {@link #getArtifactFiles()}. Lenient collections always resolve the files along with the artifacts.
+ */
 public class DefaultArtifactCollection implements ArtifactCollectionInternal {
+    public static final String LAZY_FILES_PROPERTY = "org.gradle.internal.resolve.artifacts.lazy-files";
+
     private final ResolutionBackedFileCollection fileCollection;
     private final boolean lenient;
+    private final ArtifactFileResolutionStatistics fileResolutionStatistics = new ArtifactFileResolutionStatistics();
     private final CalculatedValueContainer<ArtifactSetResult, ?> result;
 
     public DefaultArtifactCollection(ResolutionBackedFileCollection files, boolean lenient, ResolutionHost resolutionHost, CalculatedValueContainerFactory calculatedValueContainerFactory) {
         this.fileCollection = files;
         this.lenient = lenient;
+        // A lenient collection leaves out the artifacts whose file cannot be resolved, so their files must be resolved up front
+        boolean lazyFiles = !lenient && Boolean.getBoolean(LAZY_FILES_PROPERTY);
         this.result = calculatedValueContainerFactory.create(resolutionHost.displayName("files"), (Supplier<ArtifactSetResult>) () -> {
-            ResolvedArtifactCollectingVisitor visitor = new ResolvedArtifactCollectingVisitor();
+            ResolvedArtifactCollectingVisitor visitor = lazyFiles ? new ResolvedArtifactCollectingVisitor(fileResolutionStatistics) : new ResolvedArtifactCollectingVisitor();
             fileCollection.getSelectedArtifacts().visitArtifacts(visitor, lenient);
 
             Set<ResolvedArtifactResult> artifactResults = visitor.getArtifacts();
@@ -92,6 +105,11 @@ public Collection<Throwable> getFailures() {
         return result.get().failures;
     }
 
+    @Override
+    public ArtifactFileResolutionStatistics getFileResolutionStatistics() {
+        return fileResolutionStatistics;
+    }
+
     @Override
     public void visitArtifacts(ArtifactVisitor visitor) {
         // TODO - if already resolved, use the results
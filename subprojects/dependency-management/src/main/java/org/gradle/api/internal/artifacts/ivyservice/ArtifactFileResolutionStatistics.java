@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice;
+
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact.ResolvableArtifact;
+
+import java.io.File;
+import java.text.MessageFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts how the files of artifacts that are resolved on first access were made available.
+ */
+public class ArtifactFileResolutionStatistics {
+    private final AtomicLong resolvedOnDemandCount = new AtomicLong();
+    private final AtomicLong alreadyResolvedCount = new AtomicLong();
+
+    /**
+     * Resolves the file of the given artifact, blocking until complete.
+     */
+    public File resolve(ResolvableArtifact artifact) {
+        if (artifact.getFileSource().isFinalized()) {
+            alreadyResolvedCount.incrementAndGet();
+        } else {
+            resolvedOnDemandCount.incrementAndGet();
+        }
+        return artifact.getFile();
+    }
+
+    /**
+     * Number of artifact files that had to be resolved, and possibly downloaded, when they were first accessed.
+     */
+    public long getResolvedOnDemandCount() {
+        return resolvedOnDemandCount.get();
+    }
+
+    /**
+     * Number of artifact files that had already been resolved when they were first accessed, for example because
+     * the files of the whole set had been requested.
+     */
+    public long getAlreadyResolvedCount() {
+        return alreadyResolvedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("Resolved {0,number,integer} artifact files on demand, {1,number,integer} were already resolved",
+            resolvedOnDemandCount.get(), alreadyResolvedCount.get()
+        );
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.artifacts.ivyservice;
 
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Sets;
 import org.gradle.api.artifacts.component.ComponentArtifactIdentifier;
 import org.gradle.api.artifacts.result.ResolvedArtifactResult;
@@ -27,15 +28,31 @@
 import org.gradle.api.internal.artifacts.result.DefaultResolvedArtifactResult;
 import org.gradle.internal.DisplayName;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 public class ResolvedArtifactCollectingVisitor implements ArtifactVisitor {
     private final Set<ResolvedArtifactResult> artifacts = Sets.newLinkedHashSet();
     private final Set<Throwable> failures = Sets.newLinkedHashSet();
     private final Set<ComponentArtifactIdentifier> seenArtifacts = new HashSet<>();
+    @Nullable
+    private final ArtifactFileResolutionStatistics onDemandFiles;
+
+    public ResolvedArtifactCollectingVisitor() {
+        this.onDemandFiles = null;
+    }
+
+    /**
+     * Creates a visitor that does not resolve the files of the visited artifacts. The file of each collected artifact is resolved when it is first accessed instead,
+     * so failures to resolve it are thrown from {@link ResolvedArtifactResult#getFile()} rather than collected by this visitor.
+     */
+    public ResolvedArtifactCollectingVisitor(ArtifactFileResolutionStatistics onDemandFiles) {
+        this.onDemandFiles = onDemandFiles;
+    }
 
     @Override
     public void visitFailure(Throwable failure) {
@@ -46,8 +63,14 @@ public void visitFailure(Throwable failure) {
     public void visitArtifact(DisplayName variantName, AttributeContainer variantAttributes, List<? extends Capability> capabilities, ResolvableArtifact artifact) {
         try {
             if (seenArtifacts.add(artifact.getId())) {
-                File file = artifact.getFile();
-                this.artifacts.add(new DefaultResolvedArtifactResult(artifact.getId(), variantAttributes, capabilities, variantName, Artifact.class, file));
+                if (onDemandFiles != null) {
+                    // Resolve and count each file once, however often it is accessed
+                    Supplier<File> file = Suppliers.memoize(() -> onDemandFiles.resolve(artifact));
+                    this.artifacts.add(new DefaultResolvedArtifactResult(artifact.getId(), variantAttributes, capabilities, variantName, Artifact.class, file));
+                } else {
+                    File file = artifact.getFile();
+                    this.artifacts.add(new DefaultResolvedArtifactResult(artifact.getId(), variantAttributes, capabilities, variantName, Artifact.class, file));
+                }
             }
         } catch (Exception t) {
             failures.add(t);
@@ -56,7 +79,7 @@ public void visitArtifact(DisplayName variantName, AttributeContainer variantAtt
 
     @Override
     public boolean requireArtifactFiles() {
-        return true;
+        return onDemandFiles == null;
     }
 
     public Set<ResolvedArtifactResult> getArtifacts() {
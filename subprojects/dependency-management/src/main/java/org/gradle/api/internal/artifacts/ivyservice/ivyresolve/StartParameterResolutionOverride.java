@@ -36,6 +36,8 @@
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.api.resources.ResourceException;
+import org.gradle.cache.internal.InMemoryCacheDecoratorFactory;
+import org.gradle.cache.scopes.BuildScopedCacheBuilderFactory;
 import org.gradle.internal.Factory;
 import org.gradle.internal.component.external.model.ModuleComponentGraphResolveState;
 import org.gradle.internal.component.external.model.ModuleComponentResolveMetadata;
@@ -106,7 +108,9 @@ public DependencyVerificationOverride dependencyVerificationOverride(
         DocumentationRegistry documentationRegistry,
         BuildCommencedTimeProvider timeProvider,
         Factory<GradleProperties> gradlePropertiesFactory,
-        FileResourceListener fileResourceListener
+        FileResourceListener fileResourceListener,
+        BuildScopedCacheBuilderFactory cacheBuilderFactory,
+        InMemoryCacheDecoratorFactory decoratorFactory
     ) {
         List<String> checksums = startParameter.getWriteDependencyVerifications();
         File verificationsFile = DependencyVerificationOverride.dependencyVerificationsFile(gradleDir);
@@ -123,7 +127,7 @@ public DependencyVerificationOverride dependencyVerificationOverride(
                 try {
                     File sessionReportDir = computeReportDirectory(timeProvider);
                     return DisablingVerificationOverride.of(
-                        new ChecksumAndSignatureVerificationOverride(buildOperationExecutor, startParameter.getGradleUserHomeDir(), verificationsFile, keyRing.get(), checksumService, signatureVerificationServiceFactory, startParameter.getDependencyVerificationMode(), documentationRegistry, sessionReportDir, gradlePropertiesFactory, fileResourceListener)
+                        new ChecksumAndSignatureVerificationOverride(buildOperationExecutor, startParameter.getGradleUserHomeDir(), verificationsFile, keyRing.get(), checksumService, signatureVerificationServiceFactory, startParameter.getDependencyVerificationMode(), documentationRegistry, sessionReportDir, gradlePropertiesFactory, fileResourceListener, cacheBuilderFactory, decoratorFactory, startParameter.isRefreshKeys())
                     );
                 } catch (Exception e) {
                     return new FailureVerificationOverride(e);
@@ -60,19 +60,29 @@
 public final class GradlePomModuleDescriptorParser extends AbstractModuleDescriptorParser<MutableMavenModuleResolveMetadata> {
     private static final Logger LOGGER = LoggerFactory.getLogger(GradlePomModuleDescriptorParser.class);
     private static final String DEPENDENCY_IMPORT_SCOPE = "import";
+    private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
     private final VersionSelectorScheme gradleVersionSelectorScheme;
     private final VersionSelectorScheme mavenVersionSelectorScheme;
     private final ImmutableModuleIdentifierFactory moduleIdentifierFactory;
     private final MavenMutableModuleMetadataFactory metadataFactory;
+    private final ImportedDependencyMgtCache importedDependencyMgtCache;
 
     public GradlePomModuleDescriptorParser(VersionSelectorScheme gradleVersionSelectorScheme,
                                            ImmutableModuleIdentifierFactory moduleIdentifierFactory,
                                            FileResourceRepository fileResourceRepository, MavenMutableModuleMetadataFactory metadataFactory) {
+        this(gradleVersionSelectorScheme, moduleIdentifierFactory, fileResourceRepository, metadataFactory, new ImportedDependencyMgtCache());
+    }
+
+    public GradlePomModuleDescriptorParser(VersionSelectorScheme gradleVersionSelectorScheme,
+                                           ImmutableModuleIdentifierFactory moduleIdentifierFactory,
+                                           FileResourceRepository fileResourceRepository, MavenMutableModuleMetadataFactory metadataFactory,
+                                           ImportedDependencyMgtCache importedDependencyMgtCache) {
         super(fileResourceRepository);
         this.gradleVersionSelectorScheme = gradleVersionSelectorScheme;
         mavenVersionSelectorScheme = new MavenVersionSelectorScheme(gradleVersionSelectorScheme);
         this.moduleIdentifierFactory = moduleIdentifierFactory;
         this.metadataFactory = metadataFactory;
+        this.importedDependencyMgtCache = importedDependencyMgtCache;
     }
 
     @Override
@@ -202,8 +212,7 @@ private Map<MavenDependencyKey, PomDependencyMgt> parseImportedDependencyMgts(De
                 ModuleComponentSelector importedId = DefaultModuleComponentSelector.newSelector(
                     DefaultModuleIdentifier.newId(currentDependencyMgt.getGroupId(), currentDependencyMgt.getArtifactId()),
                     new DefaultImmutableVersionConstraint(currentDependencyMgt.getVersion()));
-                PomReader importedPom = parsePomForSelector(parseContext, importedId, Maps.newHashMap());
-                for (Map.Entry<MavenDependencyKey, PomDependencyMgt> entry : importedPom.getDependencyMgt().entrySet()) {
+                for (Map.Entry<MavenDependencyKey, PomDependencyMgt> entry : parseImportedPom(parseContext, importedId).entrySet()) {
                     if (!importedDependencyMgts.containsKey(entry.getKey())) {
                         importedDependencyMgts.put(entry.getKey(), entry.getValue());
                     }
@@ -213,6 +222,24 @@ private Map<MavenDependencyKey, PomDependencyMgt> parseImportedDependencyMgts(De
         return importedDependencyMgts;
     }
 
+    /**
+     * Returns the dependency management information of an imported POM. Imported POMs don't see the properties of the
+     * importing POM, so the result only depends on the POM file and is shared by all the POMs which import it.
+     * Changing versions are always parsed again, as their parents may resolve differently between repositories.
+     */
+    private Map<MavenDependencyKey, PomDependencyMgt> parseImportedPom(DescriptorParseContext parseContext, ModuleComponentSelector importedId) throws IOException, SAXException {
+        LocallyAvailableExternalResource localResource = getMetaDataArtifact(parseContext, importedId);
+        if (importedId.getVersion().endsWith(SNAPSHOT_SUFFIX)) {
+            return parsePomResource(parseContext, localResource, Maps.newHashMap()).getDependencyMgt();
+        }
+        Map<MavenDependencyKey, PomDependencyMgt> cached = importedDependencyMgtCache.get(localResource.getFile());
+        if (cached != null) {
+            return cached;
+        }
+        PomReader importedPom = parsePomResource(parseContext, localResource, Maps.newHashMap());
+        return importedDependencyMgtCache.put(localResource.getFile(), importedPom.getDependencyMgt());
+    }
+
     /**
      * Checks if dependency has scope "import".
      *
@@ -228,10 +255,13 @@ private PomReader parsePomForId(DescriptorParseContext parseContext, ModuleCompo
     }
 
     private PomReader parsePomForSelector(DescriptorParseContext parseContext, ModuleComponentSelector selector, Map<String, String> childProperties) throws IOException, SAXException {
+        return parsePomResource(parseContext, getMetaDataArtifact(parseContext, selector), childProperties);
+    }
+
+    private LocallyAvailableExternalResource getMetaDataArtifact(DescriptorParseContext parseContext, ModuleComponentSelector selector) {
         ModuleDependencyMetadata moduleDependencyMetadata = toDependencyMetadata(selector);
         VersionSelector acceptor = mavenVersionSelectorScheme.parseSelector(selector.getVersion());
-        LocallyAvailableExternalResource localResource = parseContext.getMetaDataArtifact(moduleDependencyMetadata, acceptor, ArtifactType.MAVEN_POM);
-        return parsePomResource(parseContext, localResource, childProperties);
+        return parseContext.getMetaDataArtifact(moduleDependencyMetadata, acceptor, ArtifactType.MAVEN_POM);
     }
 
     private ModuleDependencyMetadata toDependencyMetadata(ModuleComponentSelector selector) {
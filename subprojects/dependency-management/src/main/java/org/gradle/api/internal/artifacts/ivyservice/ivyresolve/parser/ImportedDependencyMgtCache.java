@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import com.google.common.collect.ImmutableMap;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data.DefaultPomDependencyMgt;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data.MavenDependencyKey;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data.PomDependencyMgt;
+import org.gradle.internal.service.scopes.Scopes;
+import org.gradle.internal.service.scopes.ServiceScope;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the dependency management elements of POMs imported with the {@code import} scope, so that a BOM imported by
+ * many POMs of the build tree is only parsed once, together with its parents and its own imports.
+ *
+ * This is sound because an imported POM is always parsed without any property from the importing POM. Entries are keyed
+ * by the location, length and modification time of the downloaded POM file, so a POM that is replaced in a file
+ * repository is parsed again.
+ */
+@ServiceScope(Scopes.BuildTree.class)
+public class ImportedDependencyMgtCache {
+    private final Map<PomFileKey, Map<MavenDependencyKey, PomDependencyMgt>> cache = new ConcurrentHashMap<>();
+
+    @Nullable
+    Map<MavenDependencyKey, PomDependencyMgt> get(File pomFile) {
+        return cache.get(new PomFileKey(pomFile));
+    }
+
+    /**
+     * Stores a snapshot of the given dependency management elements, which no longer refers to the parsed POM, and returns it.
+     */
+    Map<MavenDependencyKey, PomDependencyMgt> put(File pomFile, Map<MavenDependencyKey, PomDependencyMgt> dependencyMgts) {
+        ImmutableMap.Builder<MavenDependencyKey, PomDependencyMgt> snapshot = ImmutableMap.builderWithExpectedSize(dependencyMgts.size());
+        for (Map.Entry<MavenDependencyKey, PomDependencyMgt> entry : dependencyMgts.entrySet()) {
+            snapshot.put(entry.getKey(), DefaultPomDependencyMgt.copyOf(entry.getValue()));
+        }
+        ImmutableMap<MavenDependencyKey, PomDependencyMgt> result = snapshot.build();
+        // Not computeIfAbsent(): parsing an imported POM can import further POMs, which would update the map recursively
+        cache.put(new PomFileKey(pomFile), result);
+        return result;
+    }
+
+    private static class PomFileKey {
+        private final String path;
+        private final long length;
+        private final long lastModified;
+
+        PomFileKey(File file) {
+            this.path = file.getAbsolutePath();
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PomFileKey that = (PomFileKey) o;
+            return length == that.length && lastModified == that.lastModified && path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = path.hashCode();
+            result = 31 * result + Long.hashCode(length);
+            result = 31 * result + Long.hashCode(lastModified);
+            return result;
+        }
+    }
+}
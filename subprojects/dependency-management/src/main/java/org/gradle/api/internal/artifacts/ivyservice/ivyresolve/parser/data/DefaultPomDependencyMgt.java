@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data;
+
+import com.google.common.collect.ImmutableList;
+import org.gradle.api.artifacts.ModuleIdentifier;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * An immutable dependency management element, detached from the POM it was read from.
+ */
+public class DefaultPomDependencyMgt implements PomDependencyMgt {
+    private final MavenDependencyKey id;
+    private final String version;
+    private final String scope;
+    private final ImmutableList<ModuleIdentifier> excludedModules;
+
+    private DefaultPomDependencyMgt(MavenDependencyKey id, @Nullable String version, @Nullable String scope, ImmutableList<ModuleIdentifier> excludedModules) {
+        this.id = id;
+        this.version = version;
+        this.scope = scope;
+        this.excludedModules = excludedModules;
+    }
+
+    public static PomDependencyMgt copyOf(PomDependencyMgt dependencyMgt) {
+        if (dependencyMgt instanceof DefaultPomDependencyMgt) {
+            return dependencyMgt;
+        }
+        return new DefaultPomDependencyMgt(dependencyMgt.getId(), dependencyMgt.getVersion(), dependencyMgt.getScope(), ImmutableList.copyOf(dependencyMgt.getExcludedModules()));
+    }
+
+    @Override
+    public MavenDependencyKey getId() {
+        return id;
+    }
+
+    @Override
+    public String getGroupId() {
+        return id.getGroupId();
+    }
+
+    @Override
+    public String getArtifactId() {
+        return id.getArtifactId();
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getScope() {
+        return scope;
+    }
+
+    @Override
+    public String getType() {
+        return id.getType();
+    }
+
+    @Override
+    public String getClassifier() {
+        return id.getClassifier();
+    }
+
+    @Override
+    public List<ModuleIdentifier> getExcludedModules() {
+        return excludedModules;
+    }
+
+    @Override
+    public String toString() {
+        return id + ":" + version;
+    }
+}
@@ -39,12 +39,15 @@
 import org.gradle.api.internal.properties.GradleProperties;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.cache.internal.InMemoryCacheDecoratorFactory;
+import org.gradle.cache.scopes.BuildScopedCacheBuilderFactory;
 import org.gradle.internal.Factory;
 import org.gradle.internal.UncheckedException;
 import org.gradle.internal.component.external.model.ModuleComponentArtifactIdentifier;
 import org.gradle.internal.component.external.model.ModuleComponentGraphResolveState;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.hash.ChecksumService;
+import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.logging.ConsoleRenderer;
 import org.gradle.internal.operations.BuildOperationContext;
 import org.gradle.internal.operations.BuildOperationDescriptor;
@@ -77,6 +80,7 @@ public class ChecksumAndSignatureVerificationOverride implements DependencyVerif
     private final AtomicBoolean closed = new AtomicBoolean();
     private final AtomicBoolean hasFatalFailure = new AtomicBoolean();
     private final DependencyVerificationReportWriter reportWriter;
+    private final CrossBuildVerifiedArtifactsCache verifiedArtifacts;
 
     public ChecksumAndSignatureVerificationOverride(
         BuildOperationExecutor buildOperationExecutor,
@@ -89,7 +93,10 @@ public ChecksumAndSignatureVerificationOverride(
         DocumentationRegistry documentationRegistry,
         File reportsDirectory,
         Factory<GradleProperties> gradlePropertiesFactory,
-        FileResourceListener fileResourceListener
+        FileResourceListener fileResourceListener,
+        BuildScopedCacheBuilderFactory cacheBuilderFactory,
+        InMemoryCacheDecoratorFactory decoratorFactory,
+        boolean refreshKeys
     ) {
         this.buildOperationExecutor = buildOperationExecutor;
         this.checksumService = checksumService;
@@ -106,6 +113,7 @@ public ChecksumAndSignatureVerificationOverride(
             throw new DependencyVerificationException("Unable to read dependency verification metadata from " + verificationsFile, e.getCause());
         }
         this.signatureVerificationService = signatureVerificationServiceFactory.create(keyrings, keyServers(), verifier.getConfiguration().isUseKeyServers());
+        this.verifiedArtifacts = new CrossBuildVerifiedArtifactsCache(cacheBuilderFactory, decoratorFactory, checksumService, verificationsFile, keyrings, refreshKeys);
     }
 
     private List<URI> keyServers() {
@@ -141,7 +149,15 @@ private void verifyConcurrently() {
                     queue.add(new RunnableBuildOperation() {
                         @Override
                         public void run(BuildOperationContext context) {
-                            verifier.verify(checksumService, signatureVerificationService, ve.kind, ve.artifact, observed(ve.mainFile), observed(ve.signatureFile.create()), f -> {
+                            File mainFile = observed(ve.mainFile);
+                            File signatureFile = observed(ve.signatureFile.create());
+                            HashCode verifiedArtifactKey = verifiedArtifacts.keyFor(ve.kind, ve.artifact, mainFile, signatureFile);
+                            if (verifiedArtifactKey != null && verifiedArtifacts.isVerified(verifiedArtifactKey)) {
+                                return;
+                            }
+                            AtomicBoolean failed = new AtomicBoolean();
+                            verifier.verify(checksumService, signatureVerificationService, ve.kind, ve.artifact, mainFile, signatureFile, f -> {
+                                failed.set(true);
                                 synchronized (failures) {
                                     failures.put(ve.artifact, new RepositoryAwareVerificationFailure(f, ve.repositoryName));
                                 }
@@ -149,6 +165,9 @@ public void run(BuildOperationContext context) {
                                     hasFatalFailure.set(true);
                                 }
                             });
+                            if (verifiedArtifactKey != null && !failed.get()) {
+                                verifiedArtifacts.verified(verifiedArtifactKey);
+                            }
                         }
 
                         @Override
@@ -237,6 +256,7 @@ private File observed(File file) {
     public void stop() {
         closed.set(true);
         signatureVerificationService.stop();
+        verifiedArtifacts.stop();
     }
 
     private static class VerificationQuery {
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification;
+
+import org.gradle.api.internal.artifacts.verification.signatures.BuildTreeDefinedKeys;
+import org.gradle.cache.FileLockManager;
+import org.gradle.cache.IndexedCache;
+import org.gradle.cache.IndexedCacheParameters;
+import org.gradle.cache.PersistentCache;
+import org.gradle.cache.internal.InMemoryCacheDecoratorFactory;
+import org.gradle.cache.scopes.BuildScopedCacheBuilderFactory;
+import org.gradle.internal.component.external.model.ModuleComponentArtifactIdentifier;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.hash.ChecksumService;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+
+import javax.annotation.Nullable;
+import java.io.File;
+
+import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
+import static org.gradle.internal.serialize.BaseSerializerFactory.BOOLEAN_SERIALIZER;
+import static org.gradle.internal.serialize.BaseSerializerFactory.HASHCODE_SERIALIZER;
+
+/**
+ * Remembers, across builds, which artifacts passed dependency verification without any failure, so that
+ * subsequent builds don't have to verify their checksums and signatures again.
+ *
+ * An entry is keyed by the contents of the verification metadata and keyring files, the identity of the
+ * artifact and the contents of the artifact and signature files: any change to one of these is a cache miss.
+ * Failures are never remembered, so that they are always reported with all their details.
+ */
+public class CrossBuildVerifiedArtifactsCache implements Stoppable {
+    private static final HashCode NO_KEYRING_FILE_HASH = Hashing.signature(CrossBuildVerifiedArtifactsCache.class);
+
+    private final ChecksumService checksumService;
+    private final boolean refreshKeys;
+    private final HashCode configurationHash;
+    private final PersistentCache store;
+    private final IndexedCache<HashCode, Boolean> cache;
+
+    public CrossBuildVerifiedArtifactsCache(
+        BuildScopedCacheBuilderFactory cacheBuilderFactory,
+        InMemoryCacheDecoratorFactory inMemoryCacheDecoratorFactory,
+        ChecksumService checksumService,
+        File verificationsFile,
+        BuildTreeDefinedKeys keyrings,
+        boolean refreshKeys
+    ) {
+        this.checksumService = checksumService;
+        this.refreshKeys = refreshKeys;
+        this.configurationHash = configurationHash(checksumService, verificationsFile, keyrings);
+        store = cacheBuilderFactory.createCacheBuilder("dependency-verification")
+            .withDisplayName("Dependency verification cache")
+            .withLockOptions(mode(FileLockManager.LockMode.OnDemand)) // Lock on demand
+            .open();
+        cache = store.createIndexedCache(
+            IndexedCacheParameters.of("verified-artifacts", HASHCODE_SERIALIZER, BOOLEAN_SERIALIZER)
+                .withCacheDecorator(inMemoryCacheDecoratorFactory.decorator(2000, true)));
+    }
+
+    private static HashCode configurationHash(ChecksumService checksumService, File verificationsFile, BuildTreeDefinedKeys keyrings) {
+        Hasher hasher = Hashing.newHasher();
+        hasher.putHash(checksumService.sha256(verificationsFile));
+        File keyringsFile = keyrings.getEffectiveKeyringsFile();
+        hasher.putHash(keyringsFile != null && keyringsFile.exists() ? checksumService.sha256(keyringsFile) : NO_KEYRING_FILE_HASH);
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the key under which the verification outcome of an artifact is stored, or returns null if the
+     * outcome of the verification of this artifact cannot be remembered.
+     */
+    @Nullable
+    public HashCode keyFor(ArtifactVerificationOperation.ArtifactKind kind, ModuleComponentArtifactIdentifier artifact, File mainFile, @Nullable File signatureFile) {
+        if (!mainFile.exists()) {
+            return null;
+        }
+        Hasher hasher = Hashing.newHasher();
+        hasher.putHash(configurationHash);
+        hasher.putString(kind.name());
+        hasher.putString(artifact.getComponentIdentifier().getDisplayName());
+        hasher.putString(artifact.getFileName());
+        hasher.putHash(checksumService.sha256(mainFile));
+        if (signatureFile != null && signatureFile.exists()) {
+            hasher.putBoolean(true);
+            hasher.putHash(checksumService.sha256(signatureFile));
+        } else {
+            hasher.putBoolean(false);
+        }
+        return hasher.hash();
+    }
+
+    public boolean isVerified(HashCode key) {
+        // Refreshing keys means that previously verified signatures should be checked against the refreshed keys
+        return !refreshKeys && cache.getIfPresent(key) != null;
+    }
+
+    public void verified(HashCode key) {
+        cache.put(key, Boolean.TRUE);
+    }
+
+    @Override
+    public void stop() {
+        store.close();
+    }
+}
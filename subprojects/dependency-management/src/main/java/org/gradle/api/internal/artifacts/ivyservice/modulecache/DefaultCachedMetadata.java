@@ -17,6 +17,7 @@
 
 import org.gradle.api.artifacts.ResolvedModuleVersion;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.dynamicversions.DefaultResolvedModuleVersion;
+import org.gradle.internal.Factory;
 import org.gradle.internal.component.external.model.ModuleComponentGraphResolveState;
 import org.gradle.internal.component.external.model.ModuleComponentResolveMetadata;
 import org.gradle.internal.component.external.model.MutableModuleComponentResolveMetadata;
@@ -31,27 +32,43 @@
 
 class DefaultCachedMetadata implements ModuleMetadataCache.CachedMetadata {
     private final long ageMillis;
-    private final ModuleComponentResolveMetadata metadata;
+    private final boolean missing;
+    private Factory<? extends ModuleComponentResolveMetadata> metadataFactory;
+    private volatile ModuleComponentResolveMetadata metadata;
 
     private volatile Map<Integer, ModuleComponentGraphResolveState> processedMetadataByRules;
 
-    DefaultCachedMetadata(ModuleMetadataCacheEntry entry, ModuleComponentResolveMetadata metadata, BuildCommencedTimeProvider timeProvider) {
+    DefaultCachedMetadata(ModuleMetadataCacheEntry entry, @Nullable ModuleComponentResolveMetadata metadata, BuildCommencedTimeProvider timeProvider) {
         this(timeProvider.getCurrentTime() - entry.createTimestamp, metadata);
     }
 
-    private DefaultCachedMetadata(long age, ModuleComponentResolveMetadata metadata) {
+    private DefaultCachedMetadata(long age, @Nullable ModuleComponentResolveMetadata metadata) {
         this.ageMillis = age;
+        this.missing = metadata == null;
         this.metadata = metadata;
     }
 
+    private DefaultCachedMetadata(long age, Factory<? extends ModuleComponentResolveMetadata> metadataFactory) {
+        this.ageMillis = age;
+        this.missing = false;
+        this.metadataFactory = metadataFactory;
+    }
+
+    /**
+     * Creates cached metadata for a module that is not missing, where the metadata is only created when first used.
+     */
+    static DefaultCachedMetadata deferred(ModuleMetadataCacheEntry entry, Factory<? extends ModuleComponentResolveMetadata> metadataFactory, BuildCommencedTimeProvider timeProvider) {
+        return new DefaultCachedMetadata(timeProvider.getCurrentTime() - entry.createTimestamp, metadataFactory);
+    }
+
     @Override
     public boolean isMissing() {
-        return metadata == null;
+        return missing;
     }
 
     @Override
     public ModuleSources getModuleSources() {
-        return metadata.getSources();
+        return getMetadata().getSources();
     }
 
     @Override
@@ -61,7 +78,18 @@ public ResolvedModuleVersion getModuleVersion() {
 
     @Override
     public ModuleComponentResolveMetadata getMetadata() {
-        return metadata;
+        ModuleComponentResolveMetadata result = metadata;
+        if (result == null && !missing) {
+            synchronized (this) {
+                result = metadata;
+                if (result == null) {
+                    result = metadataFactory.create();
+                    metadata = result;
+                    metadataFactory = null;
+                }
+            }
+        }
+        return result;
     }
 
     @Override
@@ -91,10 +119,10 @@ public synchronized void putProcessedMetadata(int hash, ModuleComponentGraphReso
 
     @Override
     public ModuleMetadataCache.CachedMetadata dehydrate() {
-        if (metadata == null) {
+        if (missing) {
             return this;
         }
-        MutableModuleComponentResolveMetadata copy = this.metadata.asMutable();
+        MutableModuleComponentResolveMetadata copy = getMetadata().asMutable();
 
         ModuleComponentResolveMetadata asImmutable = copy.asImmutable();
         return new DefaultCachedMetadata(ageMillis, asImmutable);
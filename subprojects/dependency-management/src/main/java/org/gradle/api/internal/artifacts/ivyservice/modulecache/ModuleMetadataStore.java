@@ -20,6 +20,7 @@
 import com.google.common.collect.Maps;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.internal.artifacts.ImmutableModuleIdentifierFactory;
+import org.gradle.internal.Factory;
 import org.gradle.internal.UncheckedException;
 import org.gradle.internal.component.external.model.ModuleComponentResolveMetadata;
 import org.gradle.internal.component.external.model.MutableModuleComponentResolveMetadata;
@@ -28,8 +29,10 @@
 import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
 import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
 
-import java.io.FileInputStream;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
 import java.io.FileOutputStream;
+import java.nio.file.Files;
 
 public class ModuleMetadataStore {
 
@@ -50,18 +53,36 @@ public ModuleMetadataStore(PathKeyFileStore metaDataStore,
     }
 
     public MutableModuleComponentResolveMetadata getModuleDescriptor(ModuleComponentAtRepositoryKey component) {
+        Factory<MutableModuleComponentResolveMetadata> descriptor = loadModuleDescriptor(component);
+        return descriptor == null ? null : descriptor.create();
+    }
+
+    /**
+     * Reads the serialized descriptor for the given component, without decoding it.
+     * The returned factory decodes the descriptor and does not access the file store, so it can be used without holding the cache lock.
+     */
+    @Nullable
+    public Factory<MutableModuleComponentResolveMetadata> loadModuleDescriptor(ModuleComponentAtRepositoryKey component) {
         String[] filePath = getFilePath(component);
         LocallyAvailableResource resource = metaDataStore.get(filePath);
-        if (resource != null) {
+        if (resource == null) {
+            return null;
+        }
+        byte[] content;
+        try {
+            content = Files.readAllBytes(resource.getFile().toPath());
+        } catch (Exception e) {
+            throw new RuntimeException("Could not load module metadata from " + resource.getDisplayName(), e);
+        }
+        return () -> {
             try {
-                try (StringDeduplicatingDecoder decoder = new StringDeduplicatingDecoder(new KryoBackedDecoder(new FileInputStream(resource.getFile())), stringInterner)) {
+                try (StringDeduplicatingDecoder decoder = new StringDeduplicatingDecoder(new KryoBackedDecoder(new ByteArrayInputStream(content)), stringInterner)) {
                     return moduleMetadataSerializer.read(decoder, moduleIdentifierFactory, Maps.newHashMap());
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not load module metadata from " + resource.getDisplayName(), e);
             }
-        }
-        return null;
+        };
     }
 
     public LocallyAvailableResource putModuleDescriptor(ModuleComponentAtRepositoryKey component, final ModuleComponentResolveMetadata metadata) {
@@ -15,10 +15,14 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.modulecache;
 
-public class ModuleRepositoryCacheProvider {
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.concurrent.Stoppable;
+
+public class ModuleRepositoryCacheProvider implements Stoppable {
     private final ModuleRepositoryCaches caches;
     private final ModuleRepositoryCaches inMemoryCaches;
     private final ResolvedArtifactCaches resolvedArtifactCaches = new ResolvedArtifactCaches();
+    private final RepositoryModuleIndexes repositoryModuleIndexes = new RepositoryModuleIndexes();
 
     public ModuleRepositoryCacheProvider(ModuleRepositoryCaches caches, ModuleRepositoryCaches inMemoryCaches) {
         this.caches = caches;
@@ -43,4 +47,16 @@ public ModuleRepositoryCaches getInMemoryOnlyCaches() {
     public ResolvedArtifactCaches getResolvedArtifactCaches() {
         return resolvedArtifactCaches;
     }
+
+    /**
+     * Returns the in-memory index of the modules found and missing in each repository.
+     */
+    public RepositoryModuleIndexes getRepositoryModuleIndexes() {
+        return repositoryModuleIndexes;
+    }
+
+    @Override
+    public void stop() {
+        CompositeStoppable.stoppable(resolvedArtifactCaches, repositoryModuleIndexes).stop();
+    }
 }
@@ -26,6 +26,7 @@
 import org.gradle.api.internal.artifacts.repositories.metadata.IvyMutableModuleMetadataFactory;
 import org.gradle.api.internal.artifacts.repositories.metadata.MavenMutableModuleMetadataFactory;
 import org.gradle.cache.IndexedCache;
+import org.gradle.internal.Factory;
 import org.gradle.internal.component.external.model.ModuleComponentResolveMetadata;
 import org.gradle.internal.component.external.model.MutableModuleComponentResolveMetadata;
 import org.gradle.internal.hash.ChecksumService;
@@ -78,13 +79,14 @@ protected CachedMetadata get(ModuleComponentAtRepositoryKey key) {
             if (entry.isMissing()) {
                 return new DefaultCachedMetadata(entry, null, timeProvider);
             }
-            MutableModuleComponentResolveMetadata metadata = moduleMetadataStore.getModuleDescriptor(key);
-            if (metadata == null) {
+            Factory<MutableModuleComponentResolveMetadata> descriptor = moduleMetadataStore.loadModuleDescriptor(key);
+            if (descriptor == null) {
                 // Descriptor file has been deleted - ignore the entry
                 cache.remove(key);
                 return null;
             }
-            return new DefaultCachedMetadata(entry, entry.configure(metadata), timeProvider);
+            // Only the raw descriptor is read while holding the lock, decoding happens when the metadata is first used
+            return DefaultCachedMetadata.deferred(entry, () -> entry.configure(descriptor.create()), timeProvider);
         });
     }
 
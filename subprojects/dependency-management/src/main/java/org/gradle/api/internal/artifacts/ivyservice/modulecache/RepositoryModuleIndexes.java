@@ -0,0 +1,237 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.BaseModuleComponentRepository;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.ModuleComponentRepository;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.ModuleComponentRepositoryAccess;
+import org.gradle.api.internal.artifacts.repositories.resolver.MetadataFetchingCost;
+import org.gradle.api.internal.component.ArtifactType;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.component.external.model.ModuleComponentGraphResolveState;
+import org.gradle.internal.component.external.model.ModuleDependencyMetadata;
+import org.gradle.internal.component.model.ComponentArtifactMetadata;
+import org.gradle.internal.component.model.ComponentOverrideMetadata;
+import org.gradle.internal.component.model.ComponentResolveMetadata;
+import org.gradle.internal.component.model.ModuleSources;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.resolve.result.BuildableArtifactFileResolveResult;
+import org.gradle.internal.resolve.result.BuildableArtifactSetResolveResult;
+import org.gradle.internal.resolve.result.BuildableModuleComponentMetaDataResolveResult;
+import org.gradle.internal.resolve.result.BuildableModuleVersionListingResolveResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track, per repository, of the modules that were found and of the modules that were missing, so that
+ * repositories which never provided a module can be skipped when looking up further versions of that module.
+ *
+ * Skipping is only enabled with the {@link #SKIP_KNOWN_ABSENT_MODULES} system property: a repository that misses
+ * some versions of a module may well provide other ones, so skipping it can change the result of a resolution.
+ * Modules found in a repository are recorded in a Bloom filter: a false positive only means that a repository is
+ * asked again, never that it is skipped.
+ */
+public class RepositoryModuleIndexes implements Stoppable {
+    public static final String SKIP_KNOWN_ABSENT_MODULES = "org.gradle.internal.repository.skip-known-absent-modules";
+
+    private final static Logger LOG = Logging.getLogger(RepositoryModuleIndexes.class);
+    private static final int EXPECTED_MODULES_PER_REPOSITORY = 10000;
+    private static final double PRESENT_MODULES_FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final Map<String, ModuleIndex> indexPerRepo = new ConcurrentHashMap<>();
+    private final boolean skipKnownAbsentModules;
+
+    public RepositoryModuleIndexes() {
+        this(Boolean.getBoolean(SKIP_KNOWN_ABSENT_MODULES));
+    }
+
+    RepositoryModuleIndexes(boolean skipKnownAbsentModules) {
+        this.skipKnownAbsentModules = skipKnownAbsentModules;
+    }
+
+    /**
+     * Returns a repository which records the modules found and missing in the given repository and, when enabled,
+     * does not search the repository remotely for modules it is known not to provide.
+     */
+    public ModuleComponentRepository<ModuleComponentGraphResolveState> provideModuleIndex(ModuleComponentRepository<ModuleComponentGraphResolveState> input) {
+        if (!skipKnownAbsentModules) {
+            return input;
+        }
+        ModuleIndex index = indexPerRepo.computeIfAbsent(input.getId(), id -> new ModuleIndex());
+        return new ModuleIndexingRepository(input, index);
+    }
+
+    @Override
+    public void stop() {
+        int skipped = 0;
+        for (ModuleIndex index : indexPerRepo.values()) {
+            skipped += index.skipped.get();
+        }
+        if (skipped > 0) {
+            LOG.info("Skipped {} remote metadata lookups for modules known to be absent from a repository.", skipped);
+        }
+        indexPerRepo.clear();
+    }
+
+    static class ModuleIndex {
+        private final BloomFilter<CharSequence> present = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), EXPECTED_MODULES_PER_REPOSITORY, PRESENT_MODULES_FALSE_POSITIVE_PROBABILITY);
+        private final Set<ModuleIdentifier> absent = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger skipped = new AtomicInteger();
+
+        void recordPresent(ModuleIdentifier module) {
+            synchronized (present) {
+                present.put(module.toString());
+            }
+        }
+
+        void recordAbsent(ModuleIdentifier module) {
+            absent.add(module);
+        }
+
+        boolean isKnownAbsent(ModuleIdentifier module) {
+            if (!absent.contains(module)) {
+                return false;
+            }
+            synchronized (present) {
+                return !present.mightContain(module.toString());
+            }
+        }
+    }
+
+    private static class ModuleIndexingRepository extends BaseModuleComponentRepository<ModuleComponentGraphResolveState> {
+        private final ModuleIndex index;
+        private final IndexingLocalAccess localAccess;
+        private final SkippingRemoteAccess remoteAccess;
+
+        ModuleIndexingRepository(ModuleComponentRepository<ModuleComponentGraphResolveState> delegate, ModuleIndex index) {
+            super(delegate);
+            this.index = index;
+            this.localAccess = new IndexingLocalAccess(delegate.getLocalAccess());
+            this.remoteAccess = new SkippingRemoteAccess(delegate.getRemoteAccess());
+        }
+
+        @Override
+        public ModuleComponentRepositoryAccess<ModuleComponentGraphResolveState> getLocalAccess() {
+            return localAccess;
+        }
+
+        @Override
+        public ModuleComponentRepositoryAccess<ModuleComponentGraphResolveState> getRemoteAccess() {
+            return remoteAccess;
+        }
+
+        private void record(ModuleComponentIdentifier id, BuildableModuleComponentMetaDataResolveResult<ModuleComponentGraphResolveState> result) {
+            switch (result.getState()) {
+                case Resolved:
+                    index.recordPresent(id.getModuleIdentifier());
+                    break;
+                case Missing:
+                    index.recordAbsent(id.getModuleIdentifier());
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void record(ModuleDependencyMetadata dependency, BuildableModuleVersionListingResolveResult result) {
+            if (result.getState() == BuildableModuleVersionListingResolveResult.State.Listed && !result.getVersions().isEmpty()) {
+                index.recordPresent(dependency.getSelector().getModuleIdentifier());
+            }
+        }
+
+        private class IndexingLocalAccess extends ForwardingAccess {
+            IndexingLocalAccess(ModuleComponentRepositoryAccess<ModuleComponentGraphResolveState> delegate) {
+                super(delegate);
+            }
+
+            @Override
+            public void listModuleVersions(ModuleDependencyMetadata dependency, BuildableModuleVersionListingResolveResult result) {
+                delegate.listModuleVersions(dependency, result);
+                record(dependency, result);
+            }
+
+            @Override
+            public void resolveComponentMetaData(ModuleComponentIdentifier moduleComponentIdentifier, ComponentOverrideMetadata requestMetaData, BuildableModuleComponentMetaDataResolveResult<ModuleComponentGraphResolveState> result) {
+                delegate.resolveComponentMetaData(moduleComponentIdentifier, requestMetaData, result);
+                record(moduleComponentIdentifier, result);
+            }
+        }
+
+        private class SkippingRemoteAccess extends ForwardingAccess {
+            SkippingRemoteAccess(ModuleComponentRepositoryAccess<ModuleComponentGraphResolveState> delegate) {
+                super(delegate);
+            }
+
+            @Override
+            public void listModuleVersions(ModuleDependencyMetadata dependency, BuildableModuleVersionListingResolveResult result) {
+                delegate.listModuleVersions(dependency, result);
+                record(dependency, result);
+            }
+
+            @Override
+            public void resolveComponentMetaData(ModuleComponentIdentifier moduleComponentIdentifier, ComponentOverrideMetadata requestMetaData, BuildableModuleComponentMetaDataResolveResult<ModuleComponentGraphResolveState> result) {
+                if (index.isKnownAbsent(moduleComponentIdentifier.getModuleIdentifier())) {
+                    LOG.debug("Skipping {} for {} as it never provided this module.", ModuleIndexingRepository.this.getName(), moduleComponentIdentifier);
+                    index.skipped.incrementAndGet();
+                    // Listed under the searched locations, so that a module reported as missing points at the skipped repository
+                    result.attempted(String.format("%s (not searched, as it never provided %s)", ModuleIndexingRepository.this.getName(), moduleComponentIdentifier.getModuleIdentifier()));
+                    result.missing();
+                    return;
+                }
+                delegate.resolveComponentMetaData(moduleComponentIdentifier, requestMetaData, result);
+                record(moduleComponentIdentifier, result);
+            }
+        }
+    }
+
+    private static abstract class ForwardingAccess implements ModuleComponentRepositoryAccess<ModuleComponentGraphResolveState> {
+        protected final ModuleComponentRepositoryAccess<ModuleComponentGraphResolveState> delegate;
+
+        ForwardingAccess(ModuleComponentRepositoryAccess<ModuleComponentGraphResolveState> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+
+        @Override
+        public void resolveArtifactsWithType(ComponentResolveMetadata component, ArtifactType artifactType, BuildableArtifactSetResolveResult result) {
+            delegate.resolveArtifactsWithType(component, artifactType, result);
+        }
+
+        @Override
+        public void resolveArtifact(ComponentArtifactMetadata artifact, ModuleSources moduleSources, BuildableArtifactFileResolveResult result) {
+            delegate.resolveArtifact(artifact, moduleSources, result);
+        }
+
+        @Override
+        public MetadataFetchingCost estimateMetadataFetchingCost(ModuleComponentIdentifier moduleComponentIdentifier) {
+            return delegate.estimateMetadataFetchingCost(moduleComponentIdentifier);
+        }
+    }
+}
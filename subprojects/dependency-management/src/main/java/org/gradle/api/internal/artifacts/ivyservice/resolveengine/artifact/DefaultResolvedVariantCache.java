@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact;
+
+import org.gradle.internal.component.model.VariantResolveMetadata;
+import org.gradle.internal.concurrent.Stoppable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A {@link ResolvedVariantCache} shared by all resolutions in the build, which keeps track of how often variants are reused.
+ */
+public class DefaultResolvedVariantCache implements ResolvedVariantCache, Stoppable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultResolvedVariantCache.class);
+
+    private final ConcurrentMap<VariantResolveMetadata.Identifier, ResolvedVariant> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    @Override
+    public ResolvedVariant computeIfAbsent(VariantResolveMetadata.Identifier key, Function<? super VariantResolveMetadata.Identifier, ? extends ResolvedVariant> mappingFunction) {
+        requests.incrementAndGet();
+        return cache.computeIfAbsent(key, id -> {
+            misses.incrementAndGet();
+            return mappingFunction.apply(id);
+        });
+    }
+
+    public int getHits() {
+        return requests.get() - misses.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public void stop() {
+        int requestCount = requests.get();
+        if (requestCount > 0) {
+            LOGGER.debug("Resolved variant cache: {} hits, {} misses ({}% reused across resolutions)", getHits(), getMisses(), 100 * getHits() / requestCount);
+        }
+        cache.clear();
+    }
+}
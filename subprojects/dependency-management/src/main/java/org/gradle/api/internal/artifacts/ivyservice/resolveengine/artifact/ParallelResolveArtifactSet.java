@@ -20,6 +20,8 @@
 import org.gradle.api.internal.file.FileCollectionInternal;
 import org.gradle.api.internal.file.FileCollectionStructureVisitor;
 import org.gradle.internal.operations.BuildOperationConstraint;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
 import org.gradle.internal.operations.BuildOperationExecutor;
 import org.gradle.internal.operations.BuildOperationQueue;
 import org.gradle.internal.operations.RunnableBuildOperation;
@@ -31,8 +33,21 @@
  * A wrapper that prepares artifacts in parallel when visiting the delegate.
  * This is done by collecting all artifacts to prepare and/or visit in a first step.
  * The collected artifacts are prepared in parallel and subsequently visited in sequence.
+ *
+ * When a batch size is set using {@value #BATCH_SIZE_PROPERTY}, up to this number of {@link ResolvedArtifactSet.BatchableOperation}s
+ * are run in the same build operation, which avoids paying for the scheduling of a build operation for each of many small artifacts.
+ * Only work whose inputs are already available is batched, so that downloads still happen in parallel. This only applies to artifacts
+ * finalized while visiting this set: transform steps scheduled as nodes of the execution plan still run one per build operation.
  */
 public abstract class ParallelResolveArtifactSet {
+    /**
+     * The maximum number of batchable operations to run in a single build operation, unset or less than 2 to run each in its own build operation.
+     *
+     * The operations of a batch run one after the other on the same worker. Artifact transforms whose input artifact is available are batched
+     * regardless of how long they take, so a batch containing expensive transforms runs these transforms serially. Only set this when most
+     * transforms are cheap compared to the cost of running a build operation.
+     */
+    public static final String BATCH_SIZE_PROPERTY = "org.gradle.internal.resolve.artifacts.batch-size";
     private static final EmptySet EMPTY = new EmptySet();
 
     public abstract void visit(ArtifactVisitor visitor);
@@ -53,10 +68,12 @@ public void visit(ArtifactVisitor visitor) {
     private static class VisitingSet extends ParallelResolveArtifactSet {
         private final ResolvedArtifactSet artifacts;
         private final BuildOperationExecutor buildOperationProcessor;
+        private final int batchSize;
 
         VisitingSet(ResolvedArtifactSet artifacts, BuildOperationExecutor buildOperationProcessor) {
             this.artifacts = artifacts;
             this.buildOperationProcessor = buildOperationProcessor;
+            this.batchSize = Integer.getInteger(BATCH_SIZE_PROPERTY, 1);
         }
 
         @Override
@@ -91,8 +108,15 @@ public void visitArtifacts(ResolvedArtifactSet.Artifacts artifacts) {
 
             @Override
             public void execute(BuildOperationQueue<RunnableBuildOperation> buildOperationQueue) {
-                this.queue = buildOperationQueue;
-                artifacts.visit(this);
+                if (batchSize > 1) {
+                    BatchingQueue batchingQueue = new BatchingQueue(buildOperationQueue, batchSize);
+                    this.queue = batchingQueue;
+                    artifacts.visit(this);
+                    batchingQueue.flush();
+                } else {
+                    this.queue = buildOperationQueue;
+                    artifacts.visit(this);
+                }
             }
 
             public void visitResults() {
@@ -102,4 +126,87 @@ public void visitResults() {
             }
         }
     }
+
+    /**
+     * Groups the batchable operations added to the queue, and adds all other operations to the queue as is.
+     */
+    private static class BatchingQueue implements BuildOperationQueue<RunnableBuildOperation> {
+        private final BuildOperationQueue<RunnableBuildOperation> delegate;
+        private final int batchSize;
+        private List<RunnableBuildOperation> batch;
+
+        BatchingQueue(BuildOperationQueue<RunnableBuildOperation> delegate, int batchSize) {
+            this.delegate = delegate;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void add(RunnableBuildOperation operation) {
+            if (!(operation instanceof ResolvedArtifactSet.BatchableOperation)) {
+                delegate.add(operation);
+                return;
+            }
+            List<RunnableBuildOperation> fullBatch = null;
+            synchronized (this) {
+                if (batch == null) {
+                    batch = new ArrayList<>(batchSize);
+                }
+                batch.add(operation);
+                if (batch.size() == batchSize) {
+                    fullBatch = batch;
+                    batch = null;
+                }
+            }
+            if (fullBatch != null) {
+                delegate.add(new OperationBatch(fullBatch));
+            }
+        }
+
+        void flush() {
+            List<RunnableBuildOperation> lastBatch;
+            synchronized (this) {
+                lastBatch = batch;
+                batch = null;
+            }
+            if (lastBatch != null) {
+                delegate.add(lastBatch.size() == 1 ? lastBatch.get(0) : new OperationBatch(lastBatch));
+            }
+        }
+
+        @Override
+        public void cancel() {
+            delegate.cancel();
+        }
+
+        @Override
+        public void waitForCompletion() {
+            flush();
+            delegate.waitForCompletion();
+        }
+
+        @Override
+        public void setLogLocation(String logLocation) {
+            delegate.setLogLocation(logLocation);
+        }
+    }
+
+    private static class OperationBatch implements RunnableBuildOperation {
+        private final List<RunnableBuildOperation> operations;
+
+        OperationBatch(List<RunnableBuildOperation> operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            for (RunnableBuildOperation operation : operations) {
+                operation.run(context);
+            }
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Finalize " + operations.size() + " artifacts");
+        }
+    }
 }
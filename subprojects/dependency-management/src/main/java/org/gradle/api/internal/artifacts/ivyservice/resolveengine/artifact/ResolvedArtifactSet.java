@@ -82,6 +82,14 @@ default void prepareForVisitingIfNotAlready() {}
         void visit(ArtifactVisitor visitor);
     }
 
+    /**
+     * Work queued while finalizing a set of artifacts, which may be run along with other such work in a single build operation.
+     * The work is then run using the context of that build operation, and serially with the other work of the batch.
+     * Work that may need to download or otherwise produce its inputs should not be batched, as this would serialize the production of these inputs.
+     */
+    interface BatchableOperation extends RunnableBuildOperation {
+    }
+
     /**
      * A listener that is notified as artifacts are made available while visiting the contents of a set. Implementations must be thread safe as they are notified from multiple threads concurrently.
      */
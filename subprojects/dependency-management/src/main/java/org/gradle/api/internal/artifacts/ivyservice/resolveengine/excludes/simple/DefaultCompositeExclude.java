@@ -17,16 +17,23 @@
 
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableSet;
+import org.gradle.api.artifacts.ModuleIdentifier;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes.specs.CompositeExclude;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes.specs.ExcludeSpec;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 abstract class DefaultCompositeExclude implements CompositeExclude {
     private final ImmutableSet<ExcludeSpec> components;
     private final int hashCode;
     private final int size;
 
+    // Composite specs are shared by all the nodes and edges with the same exclusions, which
+    // ask for the same modules over and over, so the outcome for each module is remembered
+    private volatile Map<ModuleIdentifier, Boolean> excludedModules;
+
     DefaultCompositeExclude(ImmutableSet<ExcludeSpec> components) {
         this.components = components;
         this.size = components.size();
@@ -35,6 +42,27 @@ abstract class DefaultCompositeExclude implements CompositeExclude {
 
     abstract int mask();
 
+    /**
+     * Determines whether this spec excludes the given module, by evaluating its components.
+     */
+    abstract boolean evaluateExcludes(ModuleIdentifier module);
+
+    @Override
+    public final boolean excludes(ModuleIdentifier module) {
+        Map<ModuleIdentifier, Boolean> decisions = excludedModules;
+        if (decisions == null) {
+            // A concurrent first use may create another map: this only loses a few decisions
+            decisions = new ConcurrentHashMap<>();
+            excludedModules = decisions;
+        }
+        Boolean excluded = decisions.get(module);
+        if (excluded == null) {
+            excluded = evaluateExcludes(module);
+            decisions.put(module, excluded);
+        }
+        return excluded;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -43,7 +43,7 @@ protected String getDisplayName() {
     }
 
     @Override
-    public boolean excludes(ModuleIdentifier module) {
+    boolean evaluateExcludes(ModuleIdentifier module) {
         for (ExcludeSpec component : getComponents()) {
             if (component.excludes(module)) {
                 return true;
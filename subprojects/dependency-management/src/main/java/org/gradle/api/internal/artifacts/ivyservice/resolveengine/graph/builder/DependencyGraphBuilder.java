@@ -47,6 +47,7 @@
 import org.gradle.api.internal.attributes.ImmutableAttributes;
 import org.gradle.api.internal.attributes.ImmutableAttributesFactory;
 import org.gradle.api.specs.Spec;
+import org.gradle.internal.UncheckedException;
 import org.gradle.internal.component.IncompatibleVariantsSelectionException;
 import org.gradle.internal.component.model.ComponentGraphResolveMetadata;
 import org.gradle.internal.component.model.ComponentIdGenerator;
@@ -69,10 +70,13 @@
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 public class DependencyGraphBuilder {
     private static final Logger LOGGER = LoggerFactory.getLogger(DependencyGraphBuilder.class);
+    // Maximum number of metadata prefetches that can be pending at any time, 0 disables prefetching
+    private static final int MAX_PENDING_METADATA_PREFETCHES = Integer.getInteger("org.gradle.internal.resolution.metadata-prefetch.max-pending", 0);
     private final ModuleConflictHandler moduleConflictHandler;
     private final Spec<? super DependencyMetadata> edgeFilter;
     private final DependencyToComponentIdResolver idResolver;
@@ -137,15 +141,51 @@ public void resolve(final ResolveContext resolveContext, final DependencyGraphVi
 
         List<? extends DependencyMetadata> syntheticDependencies = includeSyntheticDependencies ? resolveContext.getSyntheticDependencies() : Collections.emptyList();
 
-        ResolveState resolveState = new ResolveState(idGenerator, rootComponent, idResolver, metaDataResolver, edgeFilter, attributesSchema, moduleExclusions, componentSelectorConverter, attributesFactory, attributeDesugaring, dependencySubstitutionApplicator, versionSelectorScheme, versionComparator, versionParser, moduleConflictHandler.getResolver(), graphSize, resolveContext.getResolutionStrategy().getConflictResolution(), syntheticDependencies, conflictTracker);
-
-        traverseGraph(resolveState);
+        ResolveState resolveState;
+        if (MAX_PENDING_METADATA_PREFETCHES > 0) {
+            resolveState = traverseGraphWithMetadataPrefetching(resolveContext, rootComponent, graphSize, syntheticDependencies);
+        } else {
+            resolveState = createResolveState(resolveContext, rootComponent, graphSize, syntheticDependencies, metaDataResolver, null);
+            traverseGraph(resolveState);
+        }
 
         validateGraph(resolveState, resolutionStrategy.isFailingOnDynamicVersions(), resolutionStrategy.isFailingOnChangingVersions());
 
         assembleResult(resolveState, modelVisitor);
     }
 
+    private ResolveState createResolveState(ResolveContext resolveContext, RootComponentMetadataBuilder.RootComponentState rootComponent, int graphSize, List<? extends DependencyMetadata> syntheticDependencies, ComponentMetaDataResolver metaDataResolver, @Nullable MetadataPrefetcher metadataPrefetcher) {
+        return new ResolveState(idGenerator, rootComponent, idResolver, metaDataResolver, edgeFilter, attributesSchema, moduleExclusions, componentSelectorConverter, attributesFactory, attributeDesugaring, dependencySubstitutionApplicator, versionSelectorScheme, versionComparator, versionParser, moduleConflictHandler.getResolver(), graphSize, resolveContext.getResolutionStrategy().getConflictResolution(), syntheticDependencies, conflictTracker, metadataPrefetcher);
+    }
+
+    /**
+     * Traverses the dependency graph while metadata for the fixed version targets of new edges is fetched in the background.
+     * The traversal itself still happens in the calling thread, so the resulting graph is the same as when traversing without prefetching.
+     * Modules locked by dependency locking are prefetched before the traversal starts.
+     */
+    private ResolveState traverseGraphWithMetadataPrefetching(ResolveContext resolveContext, RootComponentMetadataBuilder.RootComponentState rootComponent, int graphSize, List<? extends DependencyMetadata> syntheticDependencies) {
+        AtomicReference<ResolveState> resolveState = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        buildOperationExecutor.runAll(buildOperationQueue -> {
+            MetadataPrefetcher metadataPrefetcher = new MetadataPrefetcher(metaDataResolver, versionSelectorScheme, buildOperationQueue, MAX_PENDING_METADATA_PREFETCHES);
+            try {
+                metadataPrefetcher.prefetchLockedModules(syntheticDependencies);
+                ResolveState state = createResolveState(resolveContext, rootComponent, graphSize, syntheticDependencies, metadataPrefetcher, metadataPrefetcher);
+                traverseGraph(state);
+                resolveState.set(state);
+            } catch (Throwable t) {
+                // Keep failures of the traversal itself out of the build operation queue failure
+                failure.set(t);
+            } finally {
+                metadataPrefetcher.stop();
+            }
+        }, BuildOperationConstraint.UNCONSTRAINED);
+        if (failure.get() != null) {
+            throw UncheckedException.throwAsUncheckedException(failure.get());
+        }
+        return resolveState.get();
+    }
+
     /**
      * Traverses the dependency graph, resolving conflicts and building the paths from the root configuration.
      */
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.builder;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.gradle.api.artifacts.VersionConstraint;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ComponentSelector;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionSelectorScheme;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier;
+import org.gradle.internal.component.model.ComponentOverrideMetadata;
+import org.gradle.internal.component.model.DefaultComponentOverrideMetadata;
+import org.gradle.internal.component.model.DependencyMetadata;
+import org.gradle.internal.component.model.LocalOriginDependencyMetadata;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.internal.resolve.result.BuildableComponentResolveResult;
+import org.gradle.internal.resolve.result.DefaultBuildableComponentResolveResult;
+import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Speculatively resolves the metadata of the target of an edge as soon as the edge is added to the graph, rather than when its target is selected.
+ *
+ * Only dependencies that declare a fixed version are prefetched, as their component identifier is known without performing selection.
+ * Prefetching does not touch the graph state: the results are only handed out when the graph builder later resolves the same component,
+ * so the traversal order and conflict resolution are unchanged. A prefetch that has not been started yet when its result is needed
+ * is run by the requesting thread, so that the traversal never waits for a queued prefetch.
+ *
+ * When dependency locking is enabled, the lock state already determines the version of every module of the graph. All locked modules
+ * are then prefetched up front, so that their metadata is fetched in parallel rather than one level of the graph at a time.
+ */
+class MetadataPrefetcher implements ComponentMetaDataResolver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataPrefetcher.class);
+
+    private final ComponentMetaDataResolver delegate;
+    private final VersionSelectorScheme versionSelectorScheme;
+    private final BuildOperationQueue<RunnableBuildOperation> queue;
+    private final int maxPendingPrefetches;
+    private final ConcurrentMap<ComponentIdentifier, Prefetch> prefetches = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingPrefetches = new AtomicInteger();
+    private final AtomicInteger hits = new AtomicInteger();
+
+    MetadataPrefetcher(ComponentMetaDataResolver delegate, VersionSelectorScheme versionSelectorScheme, BuildOperationQueue<RunnableBuildOperation> queue, int maxPendingPrefetches) {
+        this.delegate = delegate;
+        this.versionSelectorScheme = versionSelectorScheme;
+        this.queue = queue;
+        this.maxPendingPrefetches = maxPendingPrefetches;
+    }
+
+    /**
+     * Starts resolving the metadata of the target of the given edge, when it is a fixed version of a module that has no selected version yet.
+     *
+     * Edges are only created for dependencies that are not excluded or filtered, and after dependency substitution has been applied,
+     * so modules which cannot be part of the graph are not prefetched.
+     */
+    void prefetchTargetOf(EdgeState edge) {
+        if (edge.isConstraint() || edge.getFrom().versionProvidedByAncestors(edge.getDependencyState())) {
+            return;
+        }
+        if (edge.getSelector().getTargetModule().getSelected() != null) {
+            // The version to use is decided by conflict resolution, which may not need the metadata of this version
+            return;
+        }
+        prefetch(edge.getDependencyState().getRequested());
+    }
+
+    @VisibleForTesting
+    void prefetch(ComponentSelector selector) {
+        if (selector instanceof ModuleComponentSelector) {
+            maybePrefetch((ModuleComponentSelector) selector);
+        }
+    }
+
+    /**
+     * Starts resolving the metadata of all modules locked by the given synthetic dependencies of the root component.
+     *
+     * Locked modules are expected to be part of the graph, so they are neither limited by nor counted against the maximum number
+     * of pending prefetches.
+     */
+    void prefetchLockedModules(List<? extends DependencyMetadata> syntheticDependencies) {
+        for (DependencyMetadata dependency : syntheticDependencies) {
+            if (!(dependency instanceof LocalOriginDependencyMetadata) || !((LocalOriginDependencyMetadata) dependency).isFromLock()) {
+                continue;
+            }
+            ComponentSelector selector = dependency.getSelector();
+            if (selector instanceof ModuleComponentSelector) {
+                ModuleComponentIdentifier id = toPrefetchableId((ModuleComponentSelector) selector);
+                if (id != null) {
+                    start(new Prefetch(id, false));
+                }
+            }
+        }
+    }
+
+    private void maybePrefetch(ModuleComponentSelector selector) {
+        ModuleComponentIdentifier id = toPrefetchableId(selector);
+        if (id != null && pendingPrefetches.get() < maxPendingPrefetches) {
+            start(new Prefetch(id, true));
+        }
+    }
+
+    /**
+     * Returns the component selected by the given selector when it is a fixed version that has not been prefetched yet and is expensive to fetch,
+     * or {@code null} otherwise.
+     */
+    @Nullable
+    private ModuleComponentIdentifier toPrefetchableId(ModuleComponentSelector selector) {
+        VersionConstraint versionConstraint = selector.getVersionConstraint();
+        String version = versionConstraint.getStrictVersion().isEmpty() ? versionConstraint.getRequiredVersion() : versionConstraint.getStrictVersion();
+        if (version.isEmpty() || versionSelectorScheme.parseSelector(version).isDynamic()) {
+            return null;
+        }
+        ModuleComponentIdentifier id = DefaultModuleComponentIdentifier.newId(selector.getModuleIdentifier(), version);
+        if (prefetches.containsKey(id) || delegate.isFetchingMetadataCheap(id)) {
+            return null;
+        }
+        return id;
+    }
+
+    private void start(Prefetch prefetch) {
+        if (prefetches.putIfAbsent(prefetch.id, prefetch) == null) {
+            if (prefetch.counted) {
+                pendingPrefetches.incrementAndGet();
+            }
+            queue.add(prefetch);
+        }
+    }
+
+    @Override
+    public void resolve(ComponentIdentifier identifier, ComponentOverrideMetadata componentOverrideMetadata, BuildableComponentResolveResult result) {
+        // Prefetches are always done without overrides, so the result can only be reused when there are no overrides
+        Prefetch prefetch = componentOverrideMetadata == DefaultComponentOverrideMetadata.EMPTY ? prefetches.get(identifier) : null;
+        if (prefetch == null) {
+            delegate.resolve(identifier, componentOverrideMetadata, result);
+            return;
+        }
+        // Run the prefetch in this thread when no worker has picked it up yet, otherwise wait for the worker to finish it
+        prefetch.runIfNotStarted();
+        prefetch.applyTo(result);
+        hits.incrementAndGet();
+    }
+
+    @Override
+    public boolean isFetchingMetadataCheap(ComponentIdentifier identifier) {
+        Prefetch prefetch = prefetches.get(identifier);
+        if (prefetch != null && prefetch.isDone()) {
+            return true;
+        }
+        return delegate.isFetchingMetadataCheap(identifier);
+    }
+
+    /**
+     * Discards all prefetches that have not been started yet.
+     */
+    void stop() {
+        queue.cancel();
+        LOGGER.debug("Prefetched metadata for {} components, {} were used by the resolution.", prefetches.size(), hits.get());
+    }
+
+    private class Prefetch implements RunnableBuildOperation {
+        private final ComponentIdentifier id;
+        private final boolean counted;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final DefaultBuildableComponentResolveResult result = new DefaultBuildableComponentResolveResult();
+        private Throwable failure;
+
+        Prefetch(ComponentIdentifier id, boolean counted) {
+            this.id = id;
+            this.counted = counted;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            runIfNotStarted();
+        }
+
+        void runIfNotStarted() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                delegate.resolve(id, DefaultComponentOverrideMetadata.EMPTY, result);
+            } catch (Throwable t) {
+                // Rethrown by the thread that uses the result, as it would have been when resolving serially
+                failure = t;
+            } finally {
+                if (counted) {
+                    pendingPrefetches.decrementAndGet();
+                }
+                done.countDown();
+            }
+        }
+
+        boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        void applyTo(BuildableComponentResolveResult target) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw UncheckedException.throwAsUncheckedException(failure);
+            }
+            result.applyTo(target);
+            if (result.getFailure() != null) {
+                target.failed(result.getFailure());
+            } else {
+                target.resolved(result.getState(), result.getGraphState());
+            }
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Prefetch metadata for " + id.getDisplayName());
+        }
+    }
+}
@@ -102,9 +102,9 @@ public class NodeState implements DependencyGraphNode {
     private Set<EdgeState> edgesToRecompute;
     private Multimap<ModuleIdentifier, DependencyState> potentiallyActivatedConstraints;
 
-    // caches
-    private final Map<DependencyMetadata, DependencyState> dependencyStateCache = Maps.newHashMap();
-    private final Map<DependencyState, EdgeState> edgesCache = Maps.newHashMap();
+    // caches, created on first use as many nodes have no dependencies
+    private Map<DependencyMetadata, DependencyState> dependencyStateCache;
+    private Map<DependencyState, EdgeState> edgesCache;
 
     // Caches the list of dependency states for dependencies
     private List<DependencyState> cachedDependencyStates;
@@ -538,16 +538,25 @@ private List<DependencyState> cacheDependencyStates(List<? extends DependencyMet
     }
 
     private DependencyState cachedDependencyStateFor(DependencyMetadata md) {
+        if (dependencyStateCache == null) {
+            dependencyStateCache = Maps.newHashMap();
+        }
         return dependencyStateCache.computeIfAbsent(md, this::createDependencyState);
     }
 
     private void createAndLinkEdgeState(DependencyState dependencyState, Collection<EdgeState> discoveredEdges, ExcludeSpec resolutionFilter, boolean deferSelection) {
+        if (edgesCache == null) {
+            edgesCache = Maps.newHashMap();
+        }
         EdgeState dependencyEdge = edgesCache.computeIfAbsent(dependencyState, ds -> new EdgeState(this, ds, resolutionFilter, resolveState));
         dependencyEdge.computeSelector(); // the selector changes, if the 'versionProvidedByAncestors' state changes
         outgoingEdges.add(dependencyEdge);
         dependencyEdge.markUsed();
         discoveredEdges.add(dependencyEdge);
         dependencyEdge.getSelector().use(deferSelection);
+        if (!deferSelection) {
+            resolveState.onEdgeLinked(dependencyEdge);
+        }
     }
 
     /**
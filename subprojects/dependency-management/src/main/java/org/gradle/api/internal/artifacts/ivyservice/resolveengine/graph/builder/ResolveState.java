@@ -90,6 +90,8 @@ class ResolveState implements ComponentStateFactory<ComponentState> {
     private final Map<VersionConstraint, ResolvedVersionConstraint> resolvedVersionConstraints = Maps.newHashMap();
     private final AttributeDesugaring attributeDesugaring;
     private final ResolutionConflictTracker conflictTracker;
+    @Nullable
+    private final MetadataPrefetcher metadataPrefetcher;
 
     public ResolveState(
         ComponentIdGenerator idGenerator,
@@ -110,7 +112,8 @@ public ResolveState(
         int graphSize,
         ConflictResolution conflictResolution,
         List<? extends DependencyMetadata> syntheticDependencies,
-        ResolutionConflictTracker conflictTracker
+        ResolutionConflictTracker conflictTracker,
+        @Nullable MetadataPrefetcher metadataPrefetcher
     ) {
         this.idGenerator = idGenerator;
         this.idResolver = idResolver;
@@ -130,6 +133,7 @@ public ResolveState(
         this.queue = new ArrayDeque<>(graphSize);
         this.conflictResolution = conflictResolution;
         this.conflictTracker = conflictTracker;
+        this.metadataPrefetcher = metadataPrefetcher;
         this.resolveOptimizations = new ResolveOptimizations();
         this.attributeDesugaring = attributeDesugaring;
         this.replaceSelectionWithConflictResultAction = new ReplaceSelectionWithConflictResultAction(this);
@@ -224,6 +228,15 @@ public NodeState pop() {
         return next.dequeue();
     }
 
+    /**
+     * Called when an edge is added to the outgoing edges of a node.
+     */
+    void onEdgeLinked(EdgeState edge) {
+        if (metadataPrefetcher != null) {
+            metadataPrefetcher.prefetchTargetOf(edge);
+        }
+    }
+
     /**
      * Called when a change is made to a configuration node, such that its dependency graph <em>may</em> now be larger than it previously was, and the node should be visited.
      */
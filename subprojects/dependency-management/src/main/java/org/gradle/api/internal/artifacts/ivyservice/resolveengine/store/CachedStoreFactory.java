@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.store;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import org.gradle.api.logging.Logger;
@@ -35,23 +36,40 @@
     private static final Logger LOG = Logging.getLogger(CachedStoreFactory.class);
     private static final int CACHE_SIZE = Integer.getInteger("org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.cacheSize", 100);
     private static final int CACHE_EXPIRY = Integer.getInteger("org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.cacheExpiryMs", 10000);
+    private static final int EVICTED_CACHE_SIZE = Integer.getInteger("org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.evictedCacheSize", 1000);
 
     private final Cache<Object, T> cache;
+    // Keeps a bounded number of results that have been evicted from the cache above for as long as memory allows, to avoid reading them from disk again
+    private final Cache<Object, T> evicted;
     private final Stats stats;
     private final String displayName;
 
     public CachedStoreFactory(String displayName) {
+        this(displayName, CACHE_SIZE, EVICTED_CACHE_SIZE);
+    }
+
+    @VisibleForTesting
+    CachedStoreFactory(String displayName, int cacheSize, int evictedCacheSize) {
         this.displayName = displayName;
-        cache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).expireAfterAccess(CACHE_EXPIRY, TimeUnit.MILLISECONDS).build();
+        evicted = CacheBuilder.newBuilder().maximumSize(evictedCacheSize).softValues().build();
+        cache = CacheBuilder.newBuilder().maximumSize(cacheSize).expireAfterAccess(CACHE_EXPIRY, TimeUnit.MILLISECONDS)
+            .<Object, T>removalListener(notification -> {
+                if (notification.wasEvicted()) {
+                    evicted.put(notification.getKey(), notification.getValue());
+                }
+            })
+            .build();
         stats = new Stats();
     }
 
     public Store<T> createCachedStore(final Object id) {
-        return new SimpleStore<>(cache, id, stats);
+        return new SimpleStore<>(cache, evicted, id, stats);
     }
 
     @Override
     public void close() {
+        cache.invalidateAll();
+        evicted.invalidateAll();
         LOG.debug(displayName + " cache closed. Cache reads: "
                 + stats.readsFromCache + ", disk reads: "
                 + stats.readsFromDisk + " (avg: " + TimeFormatting.formatDurationVerbose(stats.getDiskReadsAvgMs()) + ", total: " + TimeFormatting.formatDurationVerbose(stats.diskReadsTotalMs.get()) + ")");
@@ -81,11 +99,13 @@ public long getDiskReadsAvgMs() {
 
     private static class SimpleStore<T> implements Store<T> {
         private final Cache<Object, T> cache;
+        private final Cache<Object, T> evicted;
         private final Object id;
         private final Stats stats;
 
-        public SimpleStore(Cache<Object, T> cache, Object id, Stats stats) {
+        public SimpleStore(Cache<Object, T> cache, Cache<Object, T> evicted, Object id, Stats stats) {
             this.cache = cache;
+            this.evicted = evicted;
             this.id = id;
             this.stats = stats;
         }
@@ -97,6 +117,13 @@ public T load(Factory<T> createIfNotPresent) {
                 stats.readFromCache();
                 return out;
             }
+            out = evicted.getIfPresent(id);
+            if (out != null) {
+                evicted.invalidate(id);
+                stats.readFromCache();
+                cache.put(id, out);
+                return out;
+            }
             Timer timer = Time.startTimer();
             T value = createIfNotPresent.create();
             stats.readFromDisk(timer.getElapsedMillis());
@@ -15,6 +15,7 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.store;
 
+import com.google.common.io.CountingOutputStream;
 import org.gradle.cache.internal.BinaryStore;
 import org.gradle.internal.concurrent.CompositeStoppable;
 import org.gradle.internal.io.RandomAccessFileInputStream;
@@ -26,30 +27,55 @@
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.RandomAccessFile;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import static org.gradle.internal.UncheckedException.throwAsUncheckedException;
 
 class DefaultBinaryStore implements BinaryStore, Closeable {
+    private static final boolean COMPRESS = Boolean.getBoolean("org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.compress");
+
     private File file;
+    private final boolean compress;
     private StringDeduplicatingKryoBackedEncoder encoder;
+    private CompressedSegmentsOutputStream segments;
     private long offset = -1;
 
     public DefaultBinaryStore(File file) {
+        this(file, COMPRESS);
+    }
+
+    /**
+     * @param compress - whether the data written between two calls to {@link #done()} is stored as a separately compressed segment of the file.
+     */
+    DefaultBinaryStore(File file, boolean compress) {
         this.file = file;
+        this.compress = compress;
     }
 
     @Override
     public void write(WriteAction write) {
         if (encoder == null) {
             try {
-                encoder = new StringDeduplicatingKryoBackedEncoder(new FileOutputStream(file));
+                FileOutputStream outputStream = new FileOutputStream(file);
+                if (compress) {
+                    segments = new CompressedSegmentsOutputStream(outputStream);
+                    encoder = new StringDeduplicatingKryoBackedEncoder(segments);
+                } else {
+                    encoder = new StringDeduplicatingKryoBackedEncoder(outputStream);
+                }
             } catch (FileNotFoundException e) {
                 throw throwAsUncheckedException(e);
             }
         }
         if (offset == -1) {
-            offset = encoder.getWritePosition();
+            // A compressed segment can only be read from its start, which is where the previous segment ended in the file
+            offset = compress ? segments.getPosition() : encoder.getWritePosition();
             if (offset == Integer.MAX_VALUE) {
                 throw new IllegalStateException("Unable to write to binary store. "
                         + "The bytes offset has reached a point where using it is unsafe. Please report this error.");
@@ -76,8 +102,11 @@ public BinaryData done() {
             if (encoder != null) {
                 encoder.done();
                 encoder.flush();
+                if (segments != null) {
+                    segments.finishSegment();
+                }
             }
-            return new SimpleBinaryData(file, offset);
+            return new SimpleBinaryData(file, offset, compress);
         } finally {
             offset = -1;
         }
@@ -94,6 +123,7 @@ public void close() {
                 file.delete();
             }
             encoder = null;
+            segments = null;
             file = null;
         }
     }
@@ -113,13 +143,15 @@ public boolean isInUse() {
     private static class SimpleBinaryData implements BinaryStore.BinaryData {
         private final long offset;
         private final File inputFile;
+        private final boolean compressed;
 
         private Decoder decoder;
         private CompositeStoppable resources;
 
-        public SimpleBinaryData(File inputFile, long offset) {
+        public SimpleBinaryData(File inputFile, long offset, boolean compressed) {
             this.inputFile = inputFile;
             this.offset = offset;
+            this.compressed = compressed;
         }
 
         @Override
@@ -128,8 +160,12 @@ public <T> T read(BinaryStore.ReadAction<T> readAction) {
                 if (decoder == null) {
                     RandomAccessFile randomAccess = new RandomAccessFile(inputFile, "r");
                     randomAccess.seek(offset);
-                    decoder = new StringDeduplicatingKryoBackedDecoder(new RandomAccessFileInputStream(randomAccess));
-                    resources = new CompositeStoppable().add(randomAccess, decoder);
+                    InputStream inputStream = new RandomAccessFileInputStream(randomAccess);
+                    if (compressed) {
+                        inputStream = new InflaterInputStream(inputStream);
+                    }
+                    decoder = new StringDeduplicatingKryoBackedDecoder(inputStream);
+                    resources = new CompositeStoppable().add(randomAccess, inputStream, decoder);
                 }
                 return readAction.read(decoder);
             } catch (Exception e) {
@@ -155,4 +191,64 @@ public String toString() {
             return "Binary store in " + inputFile + " offset " + offset + " exists? " + inputFile.exists();
         }
     }
+
+    /**
+     * Compresses each segment of the file as an independent deflate stream, so that a segment can be read starting from its offset.
+     */
+    private static class CompressedSegmentsOutputStream extends OutputStream {
+        private final CountingOutputStream fileStream;
+        private Deflater deflater;
+        private DeflaterOutputStream segment;
+
+        CompressedSegmentsOutputStream(OutputStream fileStream) {
+            this.fileStream = new CountingOutputStream(fileStream);
+        }
+
+        long getPosition() {
+            return fileStream.getCount();
+        }
+
+        private OutputStream currentSegment() {
+            if (segment == null) {
+                deflater = new Deflater(Deflater.BEST_SPEED);
+                segment = new DeflaterOutputStream(fileStream, deflater, 64 * 1024);
+            }
+            return segment;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            currentSegment().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            currentSegment().write(b, off, len);
+        }
+
+        void finishSegment() {
+            if (segment == null) {
+                return;
+            }
+            try {
+                segment.finish();
+                fileStream.flush();
+            } catch (IOException e) {
+                throw throwAsUncheckedException(e);
+            } finally {
+                deflater.end();
+                deflater = null;
+                segment = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                finishSegment();
+            } finally {
+                fileStream.close();
+            }
+        }
+    }
 }
@@ -16,11 +16,10 @@
 
 package org.gradle.api.internal.artifacts.repositories.maven;
 
-import org.apache.ivy.util.ContextualSAXHandler;
-import org.apache.ivy.util.XMLHelper;
 import org.gradle.api.resources.MissingResourceException;
 import org.gradle.api.resources.ResourceException;
 import org.gradle.internal.ErroringAction;
+import org.gradle.internal.UncheckedException;
 import org.gradle.internal.resource.ExternalResource;
 import org.gradle.internal.resource.ExternalResourceName;
 import org.gradle.internal.resource.local.FileStore;
@@ -28,14 +27,22 @@
 import org.gradle.internal.resource.transfer.CacheAwareExternalResourceAccessor.DefaultResourceFileStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MavenMetadataLoader {
     private static final Logger LOGGER = LoggerFactory.getLogger(MavenMetadataLoader.class);
+    // Looking up the parser implementation is expensive compared to parsing a metadata file, so parsers are reused
+    private static final ThreadLocal<SAXParser> PARSER = ThreadLocal.withInitial(MavenMetadataLoader::createSecureParser);
     private final CacheAwareExternalResourceAccessor cacheAwareExternalResourceAccessor;
     private final FileStore<String> resourcesFileStore;
 
@@ -74,23 +81,85 @@ private void parseMavenMetadataInto(ExternalResource metadataResource, final Mav
         metadataResource.withContent(new ErroringAction<InputStream>() {
             @Override
             public void doExecute(InputStream inputStream) throws ParserConfigurationException, SAXException, IOException {
-                XMLHelper.parse(inputStream, null, new ContextualSAXHandler() {
-                    @Override
-                    public void endElement(String uri, String localName, String qName)
-                            throws SAXException {
-                        if ("metadata/versioning/snapshot/timestamp".equals(getContext())) {
-                            mavenMetadata.timestamp = getText();
-                        }
-                        if ("metadata/versioning/snapshot/buildNumber".equals(getContext())) {
-                            mavenMetadata.buildNumber = getText();
-                        }
-                        if ("metadata/versioning/versions/version".equals(getContext())) {
-                            mavenMetadata.versions.add(getText().trim());
-                        }
-                        super.endElement(uri, localName, qName);
-                    }
-                }, null);
+                SAXParser parser = PARSER.get();
+                try {
+                    parser.parse(inputStream, new MavenMetadataHandler(mavenMetadata));
+                } finally {
+                    parser.reset();
+                }
             }
         });
     }
+
+    private static SAXParser createSecureParser() {
+        try {
+            SAXParserFactory spf = SAXParserFactory.newInstance();
+            spf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            spf.setFeature("http://xml.org/sax/features/namespaces", false);
+            spf.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            spf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            return spf.newSAXParser();
+        } catch (ParserConfigurationException | SAXException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    /**
+     * Streams the elements of a maven-metadata.xml file, only keeping the text of the elements that are used.
+     */
+    private static class MavenMetadataHandler extends DefaultHandler {
+        private static final String[] VERSION = {"metadata", "versioning", "versions", "version"};
+        private static final String[] TIMESTAMP = {"metadata", "versioning", "snapshot", "timestamp"};
+        private static final String[] BUILD_NUMBER = {"metadata", "versioning", "snapshot", "buildNumber"};
+
+        private final MavenMetadata mavenMetadata;
+        private final List<String> path = new ArrayList<>();
+        private final StringBuilder text = new StringBuilder();
+        private boolean collectText;
+
+        MavenMetadataHandler(MavenMetadata mavenMetadata) {
+            this.mavenMetadata = mavenMetadata;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            path.add(qName);
+            collectText = isAt(VERSION) || isAt(TIMESTAMP) || isAt(BUILD_NUMBER);
+            text.setLength(0);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collectText) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (collectText) {
+                if (isAt(VERSION)) {
+                    mavenMetadata.versions.add(text.toString().trim());
+                } else if (isAt(TIMESTAMP)) {
+                    mavenMetadata.timestamp = text.toString();
+                } else if (isAt(BUILD_NUMBER)) {
+                    mavenMetadata.buildNumber = text.toString();
+                }
+                collectText = false;
+            }
+            path.remove(path.size() - 1);
+        }
+
+        private boolean isAt(String[] expected) {
+            if (path.size() != expected.length) {
+                return false;
+            }
+            for (int i = expected.length - 1; i >= 0; i--) {
+                if (!expected[i].equals(path.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
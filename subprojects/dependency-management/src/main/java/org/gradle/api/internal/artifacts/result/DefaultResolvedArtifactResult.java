@@ -25,12 +25,13 @@
 
 import java.io.File;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class DefaultResolvedArtifactResult implements ResolvedArtifactResult {
     private final ComponentArtifactIdentifier identifier;
     private final ResolvedVariantResult variant;
     private final Class<? extends Artifact> type;
-    private final File file;
+    private final Supplier<File> file;
 
     public DefaultResolvedArtifactResult(ComponentArtifactIdentifier identifier,
                                          AttributeContainer variantAttributes,
@@ -38,6 +39,18 @@ public DefaultResolvedArtifactResult(ComponentArtifactIdentifier identifier,
                                          DisplayName variantDisplayName,
                                          Class<? extends Artifact> type,
                                          File file) {
+        this(identifier, variantAttributes, capabilities, variantDisplayName, type, () -> file);
+    }
+
+    /**
+     * Creates a result whose file is only calculated when it is requested.
+     */
+    public DefaultResolvedArtifactResult(ComponentArtifactIdentifier identifier,
+                                         AttributeContainer variantAttributes,
+                                         List<? extends Capability> capabilities,
+                                         DisplayName variantDisplayName,
+                                         Class<? extends Artifact> type,
+                                         Supplier<File> file) {
         this.identifier = identifier;
         this.variant = new DefaultResolvedVariantResult(identifier.getComponentIdentifier(), variantDisplayName, variantAttributes, capabilities, null);
         this.type = type;
@@ -61,7 +74,7 @@ public Class<? extends Artifact> getType() {
 
     @Override
     public File getFile() {
-        return file;
+        return file.get();
     }
 
     @Override
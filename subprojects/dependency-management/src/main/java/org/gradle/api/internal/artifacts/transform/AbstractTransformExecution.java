@@ -120,6 +120,11 @@ public Optional<String> getBuildOperationWorkType() {
 
     @Override
     public WorkOutput execute(ExecutionRequest executionRequest) {
+        File workspace = executionRequest.getWorkspace();
+        boolean incremental = executionRequest.getInputChanges().map(InputChangesInternal::isIncremental).orElse(false);
+        if (!incremental && restoreWorkspace(workspace, getResultsFile(workspace), getOutputDir(workspace))) {
+            return workOutput(loadAlreadyProducedOutput(workspace));
+        }
         transformExecutionListener.beforeTransformExecution(transform, subject);
         try {
             return executeWithinTransformerListener(executionRequest);
@@ -154,6 +159,10 @@ public BuildOperationDescriptor.Builder description() {
             }
         });
 
+        return workOutput(result);
+    }
+
+    private static WorkOutput workOutput(Object result) {
         return new WorkOutput() {
             @Override
             public WorkResult getDidWork() {
@@ -167,6 +176,13 @@ public Object getOutput() {
         };
     }
 
+    /**
+     * Restores the outputs of this execution in the given workspace without executing the transform, when they are available from elsewhere.
+     */
+    protected boolean restoreWorkspace(File workspace, File resultsFile, File outputDir) {
+        return false;
+    }
+
     @Override
     public Object loadAlreadyProducedOutput(File workspace) {
         TransformExecutionResultSerializer resultSerializer = new TransformExecutionResultSerializer(getOutputDir(workspace));
@@ -44,6 +44,7 @@ public class DefaultTransformInvocationFactory implements TransformInvocationFac
     private final ProjectStateRegistry projectStateRegistry;
     private final BuildOperationExecutor buildOperationExecutor;
     private final BuildOperationProgressEventEmitter progressEventEmitter;
+    private final ReadOnlyTransformWorkspaceStore readOnlyWorkspaceStore;
 
     public DefaultTransformInvocationFactory(
         ExecutionEngine executionEngine,
@@ -53,7 +54,8 @@ public DefaultTransformInvocationFactory(
         FileCollectionFactory fileCollectionFactory,
         ProjectStateRegistry projectStateRegistry,
         BuildOperationExecutor buildOperationExecutor,
-        BuildOperationProgressEventEmitter progressEventEmitter
+        BuildOperationProgressEventEmitter progressEventEmitter,
+        ReadOnlyTransformWorkspaceStore readOnlyWorkspaceStore
     ) {
         this.executionEngine = executionEngine;
         this.fileSystemAccess = fileSystemAccess;
@@ -63,6 +65,7 @@ public DefaultTransformInvocationFactory(
         this.projectStateRegistry = projectStateRegistry;
         this.buildOperationExecutor = buildOperationExecutor;
         this.progressEventEmitter = progressEventEmitter;
+        this.readOnlyWorkspaceStore = readOnlyWorkspaceStore;
     }
 
     @Override
@@ -90,7 +93,8 @@ public Deferrable<Try<ImmutableList<File>>> createInvocation(
                 fileCollectionFactory,
                 inputFingerprinter,
                 fileSystemAccess,
-                workspaceServices
+                workspaceServices,
+                readOnlyWorkspaceStore
             );
         } else {
             execution = new MutableTransformExecution(
@@ -32,6 +32,7 @@ class ImmutableTransformExecution extends AbstractTransformExecution {
     private static final String INPUT_ARTIFACT_SNAPSHOT_PROPERTY_NAME = "inputArtifactSnapshot";
 
     private final FileSystemAccess fileSystemAccess;
+    private final ReadOnlyTransformWorkspaceStore readOnlyWorkspaceStore;
 
     public ImmutableTransformExecution(
         Transform transform,
@@ -45,13 +46,20 @@ public ImmutableTransformExecution(
         FileCollectionFactory fileCollectionFactory,
         InputFingerprinter inputFingerprinter,
         FileSystemAccess fileSystemAccess,
-        TransformWorkspaceServices workspaceServices
+        TransformWorkspaceServices workspaceServices,
+        ReadOnlyTransformWorkspaceStore readOnlyWorkspaceStore
     ) {
         super(
             transform, inputArtifact, dependencies, subject,
             transformExecutionListener, buildOperationExecutor, progressEventEmitter, fileCollectionFactory, inputFingerprinter, workspaceServices
         );
         this.fileSystemAccess = fileSystemAccess;
+        this.readOnlyWorkspaceStore = readOnlyWorkspaceStore;
+    }
+
+    @Override
+    protected boolean restoreWorkspace(File workspace, File resultsFile, File outputDir) {
+        return readOnlyWorkspaceStore.restore(workspace, resultsFile, outputDir);
     }
 
     @Override
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.file.Deleter;
+import org.gradle.internal.service.scopes.Scopes;
+import org.gradle.internal.service.scopes.ServiceScope;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * A read-only store of immutable transform workspaces, shipped along the read-only dependency cache.
+ *
+ * Immutable workspaces are named after the identity of the transform execution, which only depends on the contents
+ * of the input artifact and on the transform parameters and implementation. A workspace produced in one Gradle user home can
+ * thus be reused in any other one: the outputs of the workspace are hard linked, or copied when hard links are not possible,
+ * into the workspace of the local transforms cache instead of executing the transform again.
+ */
+@ServiceScope(Scopes.UserHome.class)
+public class ReadOnlyTransformWorkspaceStore {
+    private static final Logger LOGGER = Logging.getLogger(ReadOnlyTransformWorkspaceStore.class);
+
+    private final File baseDirectory;
+    private final Deleter deleter;
+    private volatile boolean canHardLink = true;
+
+    public ReadOnlyTransformWorkspaceStore(@Nullable File baseDirectory, Deleter deleter) {
+        this.baseDirectory = baseDirectory;
+        this.deleter = deleter;
+    }
+
+    /**
+     * Restores the results file and output directory of the given workspace from the store, if the store contains a complete copy of the workspace.
+     *
+     * @return true when the workspace has been restored, false when the transform needs to be executed.
+     */
+    public boolean restore(File workspace, File resultsFile, File outputDir) {
+        if (baseDirectory == null || resultsFile.exists() || hasContents(outputDir)) {
+            return false;
+        }
+        File storedWorkspace = new File(baseDirectory, workspace.getName());
+        File storedResultsFile = new File(storedWorkspace, resultsFile.getName());
+        if (!storedResultsFile.isFile()) {
+            return false;
+        }
+        try {
+            File storedOutputDir = new File(storedWorkspace, outputDir.getName());
+            if (storedOutputDir.isDirectory()) {
+                linkOrCopyTree(storedOutputDir.toPath(), outputDir.toPath());
+            }
+            // The results file comes last, so that an interrupted restore looks like an incomplete execution
+            linkOrCopy(storedResultsFile.toPath(), resultsFile.toPath());
+            return true;
+        } catch (IOException e) {
+            LOGGER.info("Could not restore {} from the read-only transforms store, the transform will be executed.", workspace, e);
+            try {
+                deleter.deleteRecursively(outputDir);
+                deleter.delete(resultsFile);
+            } catch (IOException cleanupFailure) {
+                e.addSuppressed(cleanupFailure);
+            }
+            return false;
+        }
+    }
+
+    private static boolean hasContents(File outputDir) {
+        // The output directory has already been created for the execution
+        String[] children = outputDir.list();
+        return outputDir.exists() && (children == null || children.length > 0);
+    }
+
+    private void linkOrCopyTree(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                linkOrCopy(file, target.resolve(source.relativize(file).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void linkOrCopy(Path source, Path target) throws IOException {
+        if (canHardLink) {
+            try {
+                Files.createLink(target, source);
+                return;
+            } catch (IOException | UnsupportedOperationException e) {
+                // Typically because the store is on another file system, so don't try again
+                LOGGER.debug("Cannot hard link {} from the read-only transforms store, copying files instead.", source, e);
+                canHardLink = false;
+            }
+        }
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+    }
+}
@@ -133,7 +133,12 @@ public void prepareForVisitingIfNotAlready() {
         @Override
         public void startFinalization(BuildOperationQueue<RunnableBuildOperation> actions, boolean requireFiles) {
             if (prepareInvocation()) {
-                actions.add(this);
+                if (artifact.getFileSource().isFinalized()) {
+                    actions.add(new BatchableTransform());
+                } else {
+                    // Resolving the input artifact may involve a download, so keep running it in its own operation
+                    actions.add(this);
+                }
             }
         }
 
@@ -243,5 +248,20 @@ public void visit(ArtifactVisitor visitor) {
                     new TransformException(String.format("Failed to transform %s to match attributes %s.", artifact.getId(), target), failure))
             );
         }
+
+        /**
+         * Runs the transform of an artifact whose input is available. The transform itself runs in the batch, so the transforms of a batch run serially.
+         */
+        private class BatchableTransform implements ResolvedArtifactSet.BatchableOperation {
+            @Override
+            public BuildOperationDescriptor.Builder description() {
+                return TransformedArtifact.this.description();
+            }
+
+            @Override
+            public void run(@Nullable BuildOperationContext context) {
+                finalizeValue();
+            }
+        }
     }
 }
@@ -24,6 +24,7 @@
 import org.gradle.internal.component.model.AttributeMatcher;
 import org.gradle.internal.component.model.AttributeSelectionSchema;
 import org.gradle.internal.component.model.AttributeSelectionUtils;
+import org.gradle.internal.component.model.CachingAttributeSelectionSchema;
 import org.gradle.internal.component.model.DefaultAttributeMatcher;
 import org.gradle.internal.component.model.DefaultCompatibilityCheckResult;
 import org.gradle.internal.component.model.DefaultMultipleCandidateResult;
@@ -100,7 +101,14 @@ public boolean hasAttribute(Attribute<?> key) {
     @Override
     public AttributeMatcher withProducer(AttributesSchemaInternal producerSchema) {
         return matcherCache.computeIfAbsent(producerSchema, key ->
-            new DefaultAttributeMatcher(new DefaultAttributeSelectionSchema(this, producerSchema)));
+            new DefaultAttributeMatcher(new CachingAttributeSelectionSchema(selectionSchema(producerSchema))));
+    }
+
+    /**
+     * Returns the selection schema which executes the rules of this schema and of the given producer schema, without any caching.
+     */
+    AttributeSelectionSchema selectionSchema(AttributesSchemaInternal producerSchema) {
+        return new DefaultAttributeSelectionSchema(this, producerSchema);
     }
 
     @Override
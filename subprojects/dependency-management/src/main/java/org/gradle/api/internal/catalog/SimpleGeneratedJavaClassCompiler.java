@@ -111,6 +111,11 @@ private static List<String> buildOptions(File dstDir, ClassPath classPath) {
         options.add("1.8");
         options.add("-target");
         options.add("1.8");
+        // The generated sources never need annotation processing, and looking up processors scans the whole classpath.
+        // All sources are passed explicitly, so the classpath doesn't need to be searched for sources either.
+        options.add("-proc:none");
+        options.add("-sourcepath");
+        options.add("");
         options.add("-classpath");
         String cp = classPath.getAsFiles().stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator));
         options.add(cp);
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.component.model;
+
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.internal.attributes.ImmutableAttributes;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An {@link AttributeSelectionSchema} which remembers the outcome of the compatibility and disambiguation rules
+ * for each attribute and set of values, so that the rules are executed once per distinct question instead of once
+ * per candidate and per resolution.
+ *
+ * Variants of different components usually share the same few attribute values, so the number of distinct
+ * questions stays small even when the number of candidates is large. Like the query cache of
+ * {@link DefaultAttributeMatcher}, this relies on rules being pure functions of their inputs.
+ */
+public class CachingAttributeSelectionSchema implements AttributeSelectionSchema {
+    private final AttributeSelectionSchema delegate;
+    private final ConcurrentMap<ValueQuery, Boolean> compatibility = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ValueQuery, Optional<Set<Object>>> disambiguation = new ConcurrentHashMap<>();
+
+    public CachingAttributeSelectionSchema(AttributeSelectionSchema delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean hasAttribute(Attribute<?> attribute) {
+        return delegate.hasAttribute(attribute);
+    }
+
+    @Nullable
+    @Override
+    public Set<Object> disambiguate(Attribute<?> attribute, @Nullable Object requested, Set<Object> candidates) {
+        ValueQuery query = new ValueQuery(attribute, requested, candidates);
+        Optional<Set<Object>> matches = disambiguation.get(query);
+        if (matches == null) {
+            Set<Object> result = delegate.disambiguate(attribute, requested, candidates);
+            matches = Optional.ofNullable(result == null ? null : copyOf(result));
+            // The candidates are usually a set built for this query only: keep a copy which cannot change
+            disambiguation.putIfAbsent(new ValueQuery(attribute, requested, copyOf(candidates)), matches);
+        }
+        return matches.orElse(null);
+    }
+
+    private static Set<Object> copyOf(Set<Object> values) {
+        return Collections.unmodifiableSet(new HashSet<>(values));
+    }
+
+    @Override
+    public boolean matchValue(Attribute<?> attribute, Object requested, Object candidate) {
+        if (requested.equals(candidate)) {
+            return true;
+        }
+        ValueQuery query = new ValueQuery(attribute, requested, candidate);
+        Boolean match = compatibility.get(query);
+        if (match == null) {
+            match = delegate.matchValue(attribute, requested, candidate);
+            compatibility.putIfAbsent(query, match);
+        }
+        return match;
+    }
+
+    @Nullable
+    @Override
+    public Attribute<?> getAttribute(String name) {
+        return delegate.getAttribute(name);
+    }
+
+    @Override
+    public Attribute<?>[] collectExtraAttributes(ImmutableAttributes[] candidates, ImmutableAttributes requested) {
+        return delegate.collectExtraAttributes(candidates, requested);
+    }
+
+    @Override
+    public PrecedenceResult orderByPrecedence(Collection<Attribute<?>> requested) {
+        return delegate.orderByPrecedence(requested);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return delegate.equals(((CachingAttributeSelectionSchema) o).delegate);
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+
+    private static class ValueQuery {
+        private final Attribute<?> attribute;
+        private final Object requested;
+        private final Object candidate;
+        private final int hashCode;
+
+        ValueQuery(Attribute<?> attribute, @Nullable Object requested, Object candidate) {
+            this.attribute = attribute;
+            this.requested = requested;
+            this.candidate = candidate;
+            this.hashCode = 31 * (31 * attribute.hashCode() + Objects.hashCode(requested)) + candidate.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ValueQuery that = (ValueQuery) o;
+            return hashCode == that.hashCode
+                && attribute.equals(that.attribute)
+                && Objects.equals(requested, that.requested)
+                && candidate.equals(that.candidate);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -42,6 +42,7 @@ public interface CacheAwareExternalResourceAccessor {
     interface ResourceFileStore {
         /**
          * Called when a resource is to be cached. Should *move* the given file into the appropriate location and return a handle to the file.
+         * This is called without holding the artifact cache lock.
          */
         LocallyAvailableResource moveIntoCache(File downloadedResource);
     }
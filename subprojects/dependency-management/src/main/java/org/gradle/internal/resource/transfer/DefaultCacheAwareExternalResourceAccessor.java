@@ -199,9 +199,10 @@ private LocallyAvailableExternalResource copyToCache(final ExternalResourceName
     }
 
     private LocallyAvailableExternalResource moveIntoCache(final ExternalResourceName source, final File destination, final ResourceFileStore fileStore, final ExternalResourceMetaData metaData) {
+        // The file stores publish their entries atomically, so only updating the index requires the cache lock
+        LocallyAvailableResource cachedResource = fileStore.moveIntoCache(destination);
+        File fileInFileStore = cachedResource.getFile();
         return cacheAccessCoordinator.useCache(() -> {
-            LocallyAvailableResource cachedResource = fileStore.moveIntoCache(destination);
-            File fileInFileStore = cachedResource.getFile();
             cachedExternalResourceIndex.store(source.toString(), fileInFileStore, metaData);
             return fileResourceRepository.resource(fileInFileStore, source.getUri(), metaData);
         });
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.configurations
+
+import org.gradle.api.artifacts.component.ComponentArtifactIdentifier
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact.ArtifactVisitor
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact.ResolvableArtifact
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact.SelectedArtifactSet
+import org.gradle.api.internal.attributes.ImmutableAttributes
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.internal.Describables
+import org.gradle.internal.model.CalculatedValue
+import org.gradle.util.SetSystemProperties
+import org.gradle.util.TestUtil
+import org.junit.Rule
+import spock.lang.Specification
+
+class DefaultArtifactCollectionTest extends Specification {
+    @Rule
+    SetSystemProperties systemProperties = new SetSystemProperties((DefaultArtifactCollection.LAZY_FILES_PROPERTY): "true")
+
+    def failure = new RuntimeException("broken")
+    def file = new File("ok.jar")
+    def resolutionHost = Stub(ResolutionHost) {
+        displayName(_) >> Describables.of("files")
+    }
+
+    def "lenient collection leaves out artifacts whose file cannot be resolved"() {
+        def collection = artifactCollection(true)
+
+        expect:
+        collection.artifacts*.file == [file]
+        collection.failures as List == [failure]
+    }
+
+    def "strict collection resolves the file of an artifact when it is accessed"() {
+        def collection = artifactCollection(false)
+
+        when:
+        def artifacts = collection.artifacts as List
+
+        then:
+        artifacts.size() == 2
+        collection.failures.empty
+
+        when:
+        artifacts[1].file
+
+        then:
+        def e = thrown(RuntimeException)
+        e == failure
+    }
+
+    private DefaultArtifactCollection artifactCollection(boolean lenient) {
+        def selectedArtifacts = Stub(SelectedArtifactSet) {
+            visitArtifacts(_, _) >> { ArtifactVisitor visitor, boolean continueOnSelectionFailure ->
+                visitor.visitArtifact(Describables.of("variant"), ImmutableAttributes.EMPTY, [], artifact { file })
+                visitor.visitArtifact(Describables.of("variant"), ImmutableAttributes.EMPTY, [], artifact { throw failure })
+            }
+        }
+        def resultProvider = Stub(ResolutionResultProvider) {
+            getValue() >> selectedArtifacts
+        }
+        def files = new ResolutionBackedFileCollection(resultProvider, lenient, resolutionHost, TestFiles.taskDependencyFactory())
+        new DefaultArtifactCollection(files, lenient, resolutionHost, TestUtil.calculatedValueContainerFactory())
+    }
+
+    private ResolvableArtifact artifact(Closure<File> resolveFile) {
+        Stub(ResolvableArtifact) {
+            getId() >> Stub(ComponentArtifactIdentifier)
+            getFile() >> { resolveFile.call() }
+            getFileSource() >> Stub(CalculatedValue)
+        }
+    }
+}
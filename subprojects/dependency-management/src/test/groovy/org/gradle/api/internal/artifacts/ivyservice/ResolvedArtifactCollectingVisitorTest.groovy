@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice
+
+import org.gradle.api.artifacts.component.ComponentArtifactIdentifier
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact.ResolvableArtifact
+import org.gradle.api.internal.attributes.ImmutableAttributes
+import org.gradle.internal.Describables
+import org.gradle.internal.model.CalculatedValue
+import spock.lang.Specification
+
+class ResolvedArtifactCollectingVisitorTest extends Specification {
+    def file = new File("artifact.jar")
+    def fileSource = Mock(CalculatedValue)
+    def artifact = Mock(ResolvableArtifact) {
+        getId() >> Stub(ComponentArtifactIdentifier)
+        getFileSource() >> fileSource
+    }
+
+    def "resolves the files of the artifacts when visiting them"() {
+        def visitor = new ResolvedArtifactCollectingVisitor()
+
+        when:
+        visitor.visitArtifact(Describables.of("variant"), ImmutableAttributes.EMPTY, [], artifact)
+
+        then:
+        visitor.requireArtifactFiles()
+        1 * artifact.getFile() >> file
+
+        and:
+        visitor.artifacts*.file == [file]
+    }
+
+    def "resolves the files of the artifacts when first accessed"() {
+        def statistics = new ArtifactFileResolutionStatistics()
+        def visitor = new ResolvedArtifactCollectingVisitor(statistics)
+
+        when:
+        visitor.visitArtifact(Describables.of("variant"), ImmutableAttributes.EMPTY, [], artifact)
+
+        then:
+        !visitor.requireArtifactFiles()
+        0 * artifact.getFile()
+
+        when:
+        def result = visitor.artifacts.first()
+        def resolved = result.file
+
+        then:
+        1 * fileSource.isFinalized() >> false
+        1 * artifact.getFile() >> file
+        resolved == file
+        statistics.resolvedOnDemandCount == 1
+        statistics.alreadyResolvedCount == 0
+
+        when:
+        resolved = result.file
+
+        then:
+        0 * fileSource.isFinalized()
+        0 * artifact.getFile()
+        resolved == file
+        statistics.resolvedOnDemandCount == 1
+        statistics.alreadyResolvedCount == 0
+    }
+
+    def "counts files that were already resolved when first accessed"() {
+        def statistics = new ArtifactFileResolutionStatistics()
+        def visitor = new ResolvedArtifactCollectingVisitor(statistics)
+        visitor.visitArtifact(Describables.of("variant"), ImmutableAttributes.EMPTY, [], artifact)
+        def result = visitor.artifacts.first()
+
+        when:
+        result.file
+        result.file
+
+        then:
+        1 * fileSource.isFinalized() >> true
+        1 * artifact.getFile() >> file
+        statistics.resolvedOnDemandCount == 0
+        statistics.alreadyResolvedCount == 1
+    }
+}
@@ -692,6 +692,94 @@ class GradlePomModuleDescriptorParserTest extends AbstractGradlePomModuleDescrip
         hasDefaultDependencyArtifact(dep)
     }
 
+    def "parses an imported pom and its parents once for all the poms importing it"() {
+        given:
+        def importedParent = tmpDir.file("imported-parent.xml") << """
+<project>
+    <modelVersion>4.0.0</modelVersion>
+    <groupId>different-group</groupId>
+    <artifactId>imported-parent</artifactId>
+    <version>different-version</version>
+
+    <properties>
+        <managed.version>1.5</managed.version>
+    </properties>
+</project>
+"""
+        def imported = tmpDir.file("imported.xml") << """
+<project>
+    <modelVersion>4.0.0</modelVersion>
+    <artifactId>imported</artifactId>
+
+    <parent>
+        <groupId>different-group</groupId>
+        <artifactId>imported-parent</artifactId>
+        <version>different-version</version>
+    </parent>
+
+    <dependencyManagement>
+        <dependencies>
+            <dependency>
+                <groupId>group-two</groupId>
+                <artifactId>artifact-two</artifactId>
+                <version>\${managed.version}</version>
+                <exclusions>
+                    <exclusion>
+                        <groupId>group-three</groupId>
+                        <artifactId>artifact-three</artifactId>
+                    </exclusion>
+                </exclusions>
+            </dependency>
+        </dependencies>
+    </dependencyManagement>
+</project>
+"""
+        pomFile << """
+<project>
+    <modelVersion>4.0.0</modelVersion>
+    <groupId>group-one</groupId>
+    <artifactId>artifact-one</artifactId>
+    <version>version-one</version>
+
+    <properties>
+        <managed.version>1.2</managed.version>
+    </properties>
+
+    <dependencyManagement>
+        <dependencies>
+            <dependency>
+                <groupId>different-group</groupId>
+                <artifactId>imported</artifactId>
+                <version>different-version</version>
+                <type>pom</type>
+                <scope>import</scope>
+            </dependency>
+        </dependencies>
+    </dependencyManagement>
+
+    <dependencies>
+        <dependency>
+            <groupId>group-two</groupId>
+            <artifactId>artifact-two</artifactId>
+        </dependency>
+    </dependencies>
+</project>
+"""
+        parseContext.getMetaDataArtifact({ it.selector.module == 'imported' }, _, MAVEN_POM) >> asResource(imported)
+
+        when:
+        def first = parseMetaData()
+        def second = parseMetaData()
+
+        then:
+        1 * parseContext.getMetaDataArtifact({ it.selector.module == 'imported-parent' }, _, MAVEN_POM) >> asResource(importedParent)
+        [first, second].each {
+            def dep = firstDependency(it.dependencies)
+            assert dep.selector == moduleId('group-two', 'artifact-two', '1.5')
+            assert single(dep.allExcludes).moduleId == DefaultModuleIdentifier.newId('group-three', 'artifact-three')
+        }
+    }
+
     def "uses child dependency over parent dependency with same group ID and artifact ID"() {
         given:
         def parent = tmpDir.file("parent.xml") << """
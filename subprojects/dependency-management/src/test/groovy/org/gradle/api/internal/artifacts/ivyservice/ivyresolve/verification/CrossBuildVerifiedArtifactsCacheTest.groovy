@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification
+
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.api.internal.artifacts.verification.signatures.BuildTreeDefinedKeys
+import org.gradle.cache.CacheBuilder
+import org.gradle.cache.CacheDecorator
+import org.gradle.cache.IndexedCache
+import org.gradle.cache.PersistentCache
+import org.gradle.cache.internal.InMemoryCacheDecoratorFactory
+import org.gradle.cache.scopes.BuildScopedCacheBuilderFactory
+import org.gradle.internal.component.external.model.DefaultModuleComponentArtifactIdentifier
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import org.gradle.internal.hash.ChecksumService
+import org.gradle.internal.hash.Hashing
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import static org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification.ArtifactVerificationOperation.ArtifactKind.METADATA
+import static org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification.ArtifactVerificationOperation.ArtifactKind.REGULAR
+
+class CrossBuildVerifiedArtifactsCacheTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def store = Mock(IndexedCache)
+    def persistentCache = Mock(PersistentCache)
+    def cacheBuilderFactory = Mock(BuildScopedCacheBuilderFactory)
+    def decoratorFactory = Stub(InMemoryCacheDecoratorFactory) {
+        decorator(_, _) >> Stub(CacheDecorator)
+    }
+    def checksumService = Stub(ChecksumService) {
+        sha256(_) >> { File file -> Hashing.sha256().hashString(file.text) }
+    }
+    def artifact = new DefaultModuleComponentArtifactIdentifier(DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId("org", "foo"), "1.0"), "foo", "jar", "jar")
+    File verificationsFile
+    File jar
+    File signature
+
+    def setup() {
+        verificationsFile = tmpDir.file("gradle/verification-metadata.xml") << "<verification-metadata/>"
+        jar = tmpDir.file("foo-1.0.jar") << "jar contents"
+        signature = tmpDir.file("foo-1.0.jar.asc") << "signature"
+
+        def cacheBuilder
+        cacheBuilder = Stub(CacheBuilder) {
+            withDisplayName(_) >> { cacheBuilder }
+            withLockOptions(_) >> { cacheBuilder }
+            open() >> persistentCache
+        }
+        cacheBuilderFactory.createCacheBuilder("dependency-verification") >> cacheBuilder
+        persistentCache.createIndexedCache(_) >> store
+    }
+
+    def "remembers verified artifacts"() {
+        def cache = newCache()
+        def key = cache.keyFor(REGULAR, artifact, jar, signature)
+
+        when:
+        def verified = cache.isVerified(key)
+
+        then:
+        1 * store.getIfPresent(key) >> null
+        !verified
+
+        when:
+        cache.verified(key)
+
+        then:
+        1 * store.put(key, true)
+
+        when:
+        verified = cache.isVerified(key)
+
+        then:
+        1 * store.getIfPresent(key) >> true
+        verified
+    }
+
+    def "key changes when an input of the verification changes"() {
+        def cache = newCache()
+        def key = cache.keyFor(REGULAR, artifact, jar, signature)
+
+        expect:
+        cache.keyFor(REGULAR, artifact, jar, signature) == key
+        cache.keyFor(METADATA, artifact, jar, signature) != key
+        cache.keyFor(REGULAR, artifact, jar, null) != key
+
+        when:
+        signature.text = "other signature"
+
+        then:
+        cache.keyFor(REGULAR, artifact, jar, signature) != key
+
+        when:
+        signature.text = "signature"
+        jar.text = "other contents"
+
+        then:
+        cache.keyFor(REGULAR, artifact, jar, signature) != key
+
+        when:
+        jar.text = "jar contents"
+        verificationsFile.text = "<verification-metadata><configuration/></verification-metadata>"
+
+        then:
+        newCache().keyFor(REGULAR, artifact, jar, signature) != key
+
+        when:
+        verificationsFile.text = "<verification-metadata/>"
+
+        then:
+        newCache().keyFor(REGULAR, artifact, jar, signature) == key
+    }
+
+    def "does not remember the verification of missing artifacts"() {
+        expect:
+        newCache().keyFor(REGULAR, artifact, tmpDir.file("missing.jar"), signature) == null
+    }
+
+    def "does not consider artifacts verified when refreshing keys"() {
+        def cache = newCache(true)
+        def key = cache.keyFor(REGULAR, artifact, jar, signature)
+
+        when:
+        def verified = cache.isVerified(key)
+
+        then:
+        0 * store.getIfPresent(_)
+        !verified
+    }
+
+    def "closes the cache when stopped"() {
+        when:
+        newCache().stop()
+
+        then:
+        1 * persistentCache.close()
+    }
+
+    private CrossBuildVerifiedArtifactsCache newCache(boolean refreshKeys = false) {
+        new CrossBuildVerifiedArtifactsCache(cacheBuilderFactory, decoratorFactory, checksumService, verificationsFile, new BuildTreeDefinedKeys(tmpDir.file("gradle/verification-keyring")), refreshKeys)
+    }
+}
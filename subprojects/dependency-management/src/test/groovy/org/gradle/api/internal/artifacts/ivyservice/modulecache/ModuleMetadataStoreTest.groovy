@@ -56,6 +56,29 @@ class ModuleMetadataStoreTest extends Specification {
         1 * pathKeyFileStore.get("org.test", "testArtifact", "1.0", "repositoryId", "descriptor.bin") >> null
     }
 
+    def "loadModuleDescriptor reads file and decodes descriptor only when requested"() {
+        setup:
+        File descriptorFile = temporaryFolder.createFile("fileStoreEntry")
+        descriptorFile.bytes = [1, 2, 3] as byte[]
+        def descriptor = mavenMetadataFactory.create(moduleComponentIdentifier, [])
+
+        when:
+        def factory = store.loadModuleDescriptor(new ModuleComponentAtRepositoryKey(repository, moduleComponentIdentifier))
+
+        then:
+        1 * pathKeyFileStore.get("org.test", "testArtifact", "1.0", "repositoryId", "descriptor.bin") >> fileStoreEntry
+        _ * fileStoreEntry.file >> descriptorFile
+        0 * serializer._
+
+        when:
+        descriptorFile.delete()
+        def result = factory.create()
+
+        then:
+        1 * serializer.read(_, moduleIdentifierFactory, _) >> descriptor
+        result == descriptor
+    }
+
     def "putModuleDescriptor uses PathKeyFileStore to write file"() {
         setup:
         File descriptorFile = temporaryFolder.createFile("fileStoreEntry")
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache
+
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.ModuleComponentRepository
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.ModuleComponentRepositoryAccess
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import org.gradle.internal.component.external.model.ModuleComponentGraphResolveState
+import org.gradle.internal.component.model.ComponentOverrideMetadata
+import org.gradle.internal.resolve.result.BuildableModuleComponentMetaDataResolveResult
+import org.gradle.internal.resolve.result.DefaultBuildableModuleComponentMetaDataResolveResult
+import spock.lang.Specification
+
+class RepositoryModuleIndexesTest extends Specification {
+    def localAccess = Mock(ModuleComponentRepositoryAccess)
+    def remoteAccess = Mock(ModuleComponentRepositoryAccess)
+    def repository = Stub(ModuleComponentRepository) {
+        getId() >> "repo"
+        getName() >> "repo"
+        getLocalAccess() >> localAccess
+        getRemoteAccess() >> remoteAccess
+    }
+    def overrides = Stub(ComponentOverrideMetadata)
+
+    def "does not wrap repositories when skipping is disabled"() {
+        expect:
+        new RepositoryModuleIndexes(false).provideModuleIndex(repository).is(repository)
+    }
+
+    def "skips remote lookups for modules which were only missing from the repository"() {
+        def indexed = new RepositoryModuleIndexes(true).provideModuleIndex(repository)
+        def result = new DefaultBuildableModuleComponentMetaDataResolveResult<ModuleComponentGraphResolveState>()
+
+        when:
+        indexed.remoteAccess.resolveComponentMetaData(id("foo", "1.0"), overrides, new DefaultBuildableModuleComponentMetaDataResolveResult<ModuleComponentGraphResolveState>())
+        indexed.remoteAccess.resolveComponentMetaData(id("foo", "2.0"), overrides, result)
+
+        then:
+        1 * remoteAccess.resolveComponentMetaData(id("foo", "1.0"), overrides, _) >> { args -> (args[2] as BuildableModuleComponentMetaDataResolveResult).missing() }
+        0 * remoteAccess.resolveComponentMetaData(id("foo", "2.0"), overrides, _)
+        result.state == BuildableModuleComponentMetaDataResolveResult.State.Missing
+        !result.authoritative
+        result.attempted == ["repo (not searched, as it never provided org:foo)"]
+    }
+
+    def "does not skip modules which were found in the repository"() {
+        def indexed = new RepositoryModuleIndexes(true).provideModuleIndex(repository)
+
+        given:
+        localAccess.resolveComponentMetaData(id("foo", "1.0"), overrides, _) >> { args -> (args[2] as BuildableModuleComponentMetaDataResolveResult).resolved(Stub(ModuleComponentGraphResolveState)) }
+        localAccess.resolveComponentMetaData(id("foo", "2.0"), overrides, _) >> { args -> (args[2] as BuildableModuleComponentMetaDataResolveResult).missing() }
+        indexed.localAccess.resolveComponentMetaData(id("foo", "1.0"), overrides, new DefaultBuildableModuleComponentMetaDataResolveResult<ModuleComponentGraphResolveState>())
+        indexed.localAccess.resolveComponentMetaData(id("foo", "2.0"), overrides, new DefaultBuildableModuleComponentMetaDataResolveResult<ModuleComponentGraphResolveState>())
+
+        when:
+        indexed.remoteAccess.resolveComponentMetaData(id("foo", "3.0"), overrides, new DefaultBuildableModuleComponentMetaDataResolveResult<ModuleComponentGraphResolveState>())
+
+        then:
+        1 * remoteAccess.resolveComponentMetaData(id("foo", "3.0"), overrides, _)
+    }
+
+    def "shares the index between resolutions using the same repository"() {
+        def indexes = new RepositoryModuleIndexes(true)
+
+        when:
+        indexes.provideModuleIndex(repository).remoteAccess.resolveComponentMetaData(id("foo", "1.0"), overrides, new DefaultBuildableModuleComponentMetaDataResolveResult<ModuleComponentGraphResolveState>())
+        indexes.provideModuleIndex(repository).remoteAccess.resolveComponentMetaData(id("foo", "2.0"), overrides, new DefaultBuildableModuleComponentMetaDataResolveResult<ModuleComponentGraphResolveState>())
+
+        then:
+        1 * remoteAccess.resolveComponentMetaData(id("foo", "1.0"), overrides, _) >> { args -> (args[2] as BuildableModuleComponentMetaDataResolveResult).missing() }
+        0 * remoteAccess.resolveComponentMetaData(id("foo", "2.0"), overrides, _)
+    }
+
+    private static id(String name, String version) {
+        DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId("org", name), version)
+    }
+}
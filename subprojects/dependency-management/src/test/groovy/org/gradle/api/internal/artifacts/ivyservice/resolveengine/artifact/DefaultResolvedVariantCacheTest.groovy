@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact
+
+import org.gradle.internal.component.model.VariantResolveMetadata
+import spock.lang.Specification
+
+class DefaultResolvedVariantCacheTest extends Specification {
+    def cache = new DefaultResolvedVariantCache()
+
+    def "reuses variant for the same identifier and counts hits and misses"() {
+        def id1 = Stub(VariantResolveMetadata.Identifier)
+        def id2 = Stub(VariantResolveMetadata.Identifier)
+        def variant1 = Stub(ResolvedVariant)
+        def variant2 = Stub(ResolvedVariant)
+
+        expect:
+        cache.computeIfAbsent(id1, { variant1 }) == variant1
+        cache.computeIfAbsent(id1, { throw new IllegalStateException() }) == variant1
+        cache.computeIfAbsent(id2, { variant2 }) == variant2
+        cache.computeIfAbsent(id1, { throw new IllegalStateException() }) == variant1
+        cache.hits == 2
+        cache.misses == 2
+    }
+
+    def "discards variants when stopped"() {
+        def id = Stub(VariantResolveMetadata.Identifier)
+        def variant1 = Stub(ResolvedVariant)
+        def variant2 = Stub(ResolvedVariant)
+
+        given:
+        cache.computeIfAbsent(id, { variant1 })
+
+        when:
+        cache.stop()
+
+        then:
+        cache.computeIfAbsent(id, { variant2 }) == variant2
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact
+
+import org.gradle.api.internal.file.FileCollectionStructureVisitor
+import org.gradle.internal.operations.BuildOperationExecutor
+import org.gradle.internal.operations.BuildOperationQueue
+import org.gradle.internal.operations.RunnableBuildOperation
+import org.gradle.util.SetSystemProperties
+import org.junit.Rule
+import spock.lang.Specification
+
+class ParallelResolveArtifactSetTest extends Specification {
+    @Rule
+    SetSystemProperties systemProperties = new SetSystemProperties()
+
+    def queue = Mock(BuildOperationQueue)
+    def buildOperationExecutor = Stub(BuildOperationExecutor) {
+        runAll(_, _) >> { action, constraint -> action.execute(queue) }
+    }
+    def visitor = Stub(ArtifactVisitor) {
+        prepareForVisit(_) >> FileCollectionStructureVisitor.VisitType.Visit
+    }
+
+    def "queues each operation when not batching"() {
+        def operations = (1..3).collect { Mock(ResolvedArtifactSet.BatchableOperation) }
+        def set = ParallelResolveArtifactSet.wrap(artifactSet(operations), buildOperationExecutor)
+
+        when:
+        set.visit(visitor)
+
+        then:
+        operations.each { 1 * queue.add(it) }
+        0 * queue._
+    }
+
+    def "runs batchable operations in batches"() {
+        System.setProperty(ParallelResolveArtifactSet.BATCH_SIZE_PROPERTY, "2")
+        def operations = (1..5).collect { Mock(ResolvedArtifactSet.BatchableOperation) }
+        def other = Mock(RunnableBuildOperation)
+        def set = ParallelResolveArtifactSet.wrap(artifactSet(operations + [other]), buildOperationExecutor)
+        def queued = []
+
+        when:
+        set.visit(visitor)
+
+        then:
+        4 * queue.add(_) >> { RunnableBuildOperation operation -> queued << operation }
+        0 * queue._
+
+        when:
+        queued.each { it.run(null) }
+
+        then:
+        operations.each { 1 * it.run(_) }
+        1 * other.run(_)
+        queued.size() == 4
+        queued.contains(other)
+        queued.last() == operations.last()
+    }
+
+    private ResolvedArtifactSet artifactSet(List<RunnableBuildOperation> operations) {
+        def artifactSet = Stub(ResolvedArtifactSet)
+        artifactSet.visit(_) >> { ResolvedArtifactSet.Visitor visitor ->
+            operations.each { operation ->
+                visitor.visitArtifacts(Stub(ResolvedArtifactSet.Artifacts) {
+                    startFinalization(_, _) >> { BuildOperationQueue queue, boolean requireFiles -> queue.add(operation) }
+                })
+            }
+        }
+        return artifactSet
+    }
+}
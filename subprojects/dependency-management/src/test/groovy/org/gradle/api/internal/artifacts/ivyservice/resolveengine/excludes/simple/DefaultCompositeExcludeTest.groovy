@@ -61,6 +61,46 @@ class DefaultCompositeExcludeTest extends Specification {
         true
     }
 
+    def "remembers which modules are excluded"() {
+        def excluded = DefaultModuleIdentifier.newId("org.foo", "mercury")
+        def notExcluded = DefaultModuleIdentifier.newId("org.foo", "venus")
+        def component = Mock(ExcludeSpec)
+        def anyOf = FACTORY.anyOf([component, FACTORY.group("org.bar")] as Set<ExcludeSpec>)
+
+        when:
+        def first = [anyOf.excludes(excluded), anyOf.excludes(notExcluded)]
+        def second = [anyOf.excludes(excluded), anyOf.excludes(notExcluded)]
+
+        then:
+        1 * component.excludes(excluded) >> true
+        1 * component.excludes(notExcluded) >> false
+        first == [true, false]
+        second == [true, false]
+    }
+
+    def "remembered exclusions are consistent with the components"() {
+        expect:
+        1000.times {
+            ExcludeSpec spec = next()
+            10.times {
+                def module = randomModuleId()
+                def expected = spec instanceof DefaultCompositeExclude ? evaluate(spec, module) : spec.excludes(module)
+                assert spec.excludes(module) == expected
+                assert spec.excludes(module) == expected
+            }
+        }
+    }
+
+    private static boolean evaluate(ExcludeSpec spec, ModuleIdentifier module) {
+        if (spec instanceof DefaultExcludeAnyOf) {
+            return spec.components.any { evaluate(it, module) }
+        }
+        if (spec instanceof DefaultExcludeAllOf) {
+            return spec.components.every { evaluate(it, module) }
+        }
+        return spec.excludes(module)
+    }
+
     ExcludeSpec cache(ExcludeSpec spec) {
         if (cached.add(spec)) {
             cachedLinear << spec
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.builder
+
+import org.gradle.api.artifacts.component.ModuleComponentSelector
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.DefaultVersionComparator
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.DefaultVersionSelectorScheme
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionParser
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import org.gradle.internal.component.external.model.DefaultModuleComponentSelector
+import org.gradle.internal.component.model.ComponentGraphResolveState
+import org.gradle.internal.component.model.ComponentOverrideMetadata
+import org.gradle.internal.component.model.DefaultComponentOverrideMetadata
+import org.gradle.internal.component.model.DependencyMetadata
+import org.gradle.internal.component.model.LocalOriginDependencyMetadata
+import org.gradle.internal.operations.BuildOperationQueue
+import org.gradle.internal.operations.RunnableBuildOperation
+import org.gradle.internal.resolve.result.BuildableComponentResolveResult
+import org.gradle.internal.resolve.result.DefaultBuildableComponentResolveResult
+import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver
+import spock.lang.Specification
+
+class MetadataPrefetcherTest extends Specification {
+    def delegate = Mock(ComponentMetaDataResolver)
+    def queue = Mock(BuildOperationQueue)
+    def versionSelectorScheme = new DefaultVersionSelectorScheme(new DefaultVersionComparator(), new VersionParser())
+    def prefetcher = new MetadataPrefetcher(delegate, versionSelectorScheme, queue, 2)
+
+    def "prefetches fixed versions only"() {
+        when:
+        prefetch(selector("foo", "1.0"), selector("bar", "1.+"), selector("baz", ""))
+
+        then:
+        1 * delegate.isFetchingMetadataCheap(id("foo", "1.0")) >> false
+        1 * queue.add(_)
+        0 * queue._
+    }
+
+    def "does not prefetch components which are cheap to resolve or already prefetched"() {
+        given:
+        delegate.isFetchingMetadataCheap(id("foo", "1.0")) >> false
+        delegate.isFetchingMetadataCheap(id("bar", "1.0")) >> true
+
+        when:
+        prefetch(selector("foo", "1.0"), selector("bar", "1.0"))
+        prefetch(selector("foo", "1.0"))
+
+        then:
+        1 * queue.add(_)
+    }
+
+    def "limits the number of pending prefetches"() {
+        given:
+        delegate.isFetchingMetadataCheap(_) >> false
+
+        when:
+        prefetch(selector("a", "1.0"), selector("b", "1.0"), selector("c", "1.0"))
+
+        then:
+        2 * queue.add(_)
+    }
+
+    def "prefetches all locked modules regardless of the number of pending prefetches"() {
+        given:
+        delegate.isFetchingMetadataCheap(_) >> false
+
+        when:
+        prefetcher.prefetchLockedModules([lockConstraint("a", "1.0"), lockConstraint("b", "1.0"), lockConstraint("c", "1.0"), dependency("d", "1.0", true)])
+
+        then:
+        3 * queue.add(_)
+    }
+
+    def "prefetches dependencies of nodes while locked modules are pending"() {
+        given:
+        delegate.isFetchingMetadataCheap(_) >> false
+        prefetcher.prefetchLockedModules((1..10).collect { lockConstraint("locked" + it, "1.0") })
+
+        when:
+        prefetch(selector("a", "1.0"), selector("b", "1.0"), selector("c", "1.0"))
+
+        then:
+        2 * queue.add(_)
+    }
+
+    def "resolves prefetch in calling thread when it has not been started yet and reuses the result"() {
+        def state = Stub(ComponentGraphResolveState)
+        def result = new DefaultBuildableComponentResolveResult()
+        delegate.isFetchingMetadataCheap(_) >> false
+
+        given:
+        prefetch(selector("foo", "1.0"))
+
+        when:
+        prefetcher.resolve(id("foo", "1.0"), DefaultComponentOverrideMetadata.EMPTY, result)
+
+        then:
+        1 * delegate.resolve(id("foo", "1.0"), DefaultComponentOverrideMetadata.EMPTY, _) >> { args -> (args[2] as BuildableComponentResolveResult).resolved(state, null) }
+        result.state == state
+        prefetcher.isFetchingMetadataCheap(id("foo", "1.0"))
+    }
+
+    def "runs a prefetch only once"() {
+        def operation = null
+        delegate.isFetchingMetadataCheap(_) >> false
+        queue.add(_) >> { args -> operation = args[0] as RunnableBuildOperation }
+
+        given:
+        prefetch(selector("foo", "1.0"))
+
+        when:
+        operation.run(null)
+        prefetcher.resolve(id("foo", "1.0"), DefaultComponentOverrideMetadata.EMPTY, new DefaultBuildableComponentResolveResult())
+
+        then:
+        1 * delegate.resolve(id("foo", "1.0"), DefaultComponentOverrideMetadata.EMPTY, _) >> { args -> (args[2] as BuildableComponentResolveResult).resolved(Stub(ComponentGraphResolveState), null) }
+    }
+
+    def "rethrows failure of prefetch in calling thread"() {
+        def failure = new RuntimeException("broken")
+        delegate.isFetchingMetadataCheap(_) >> false
+
+        given:
+        prefetch(selector("foo", "1.0"))
+
+        when:
+        prefetcher.resolve(id("foo", "1.0"), DefaultComponentOverrideMetadata.EMPTY, new DefaultBuildableComponentResolveResult())
+
+        then:
+        1 * delegate.resolve(id("foo", "1.0"), DefaultComponentOverrideMetadata.EMPTY, _) >> { throw failure }
+        def e = thrown(RuntimeException)
+        e == failure
+    }
+
+    def "does not use prefetched result when overrides are present"() {
+        def overrides = Stub(ComponentOverrideMetadata)
+        def result = new DefaultBuildableComponentResolveResult()
+        delegate.isFetchingMetadataCheap(_) >> false
+
+        given:
+        prefetch(selector("foo", "1.0"))
+
+        when:
+        prefetcher.resolve(id("foo", "1.0"), overrides, result)
+
+        then:
+        1 * delegate.resolve(id("foo", "1.0"), overrides, result)
+        0 * delegate.resolve(_, DefaultComponentOverrideMetadata.EMPTY, _)
+    }
+
+    def "cancels queued prefetches when stopped"() {
+        when:
+        prefetcher.stop()
+
+        then:
+        1 * queue.cancel()
+    }
+
+    private static id(String name, String version) {
+        DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId("org", name), version)
+    }
+
+    private DependencyMetadata dependency(String name, String version, boolean constraint = false) {
+        Stub(DependencyMetadata) {
+            getSelector() >> DefaultModuleComponentSelector.newSelector(DefaultModuleIdentifier.newId("org", name), version)
+            isConstraint() >> constraint
+        }
+    }
+
+    private DependencyMetadata lockConstraint(String name, String version) {
+        Stub(LocalOriginDependencyMetadata) {
+            getSelector() >> DefaultModuleComponentSelector.newSelector(DefaultModuleIdentifier.newId("org", name), version)
+            isConstraint() >> true
+            isFromLock() >> true
+        }
+    }
+
+    private void prefetch(ModuleComponentSelector... selectors) {
+        selectors.each { prefetcher.prefetch(it) }
+    }
+
+    private static ModuleComponentSelector selector(String name, String version) {
+        DefaultModuleComponentSelector.newSelector(DefaultModuleIdentifier.newId("org", name), version)
+    }
+}
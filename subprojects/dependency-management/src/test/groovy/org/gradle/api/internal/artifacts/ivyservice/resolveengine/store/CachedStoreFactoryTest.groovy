@@ -37,4 +37,23 @@ class CachedStoreFactoryTest extends Specification {
         store1b.load({assert false} as Factory) == results1
         store2.load({results2} as Factory) == results2
     }
+
+    def "keeps a bounded number of evicted results"() {
+        def factory = new CachedStoreFactory("some cache", 1, 1)
+
+        def results1 = new Object()
+        def results2 = new Object()
+        def results3 = new Object()
+
+        def store1 = factory.createCachedStore("conf1")
+        def store2 = factory.createCachedStore("conf2")
+        def store3 = factory.createCachedStore("conf3")
+
+        expect:
+        store1.load({results1} as Factory) == results1
+        store2.load({results2} as Factory) == results2
+        store3.load({results3} as Factory) == results3
+        store2.load({assert false} as Factory) == results2
+        store1.load({new Object()} as Factory) != results1
+    }
 }
@@ -47,6 +47,32 @@ class DefaultBinaryStoreTest extends Specification {
         store.close()
     }
 
+    def "stores compressed binary data"() {
+        def store = new DefaultBinaryStore(temp.file("foo.bin"), true)
+
+        when:
+        store.write({ it.writeInt(10) } as BinaryStore.WriteAction)
+        store.write({ it.writeString("x" * 1000) } as BinaryStore.WriteAction)
+        def data1 = store.done()
+        store.write({ it.writeString("y") } as BinaryStore.WriteAction)
+        def data2 = store.done()
+
+        then:
+        store.size < 1000
+        data2.read({ it.readString() } as BinaryStore.ReadAction) == "y"
+        data2.close()
+
+        data1.read({ it.readInt() } as BinaryStore.ReadAction) == 10
+        data1.read({ it.readString() } as BinaryStore.ReadAction) == "x" * 1000
+        data1.close()
+
+        data1.read({ it.readInt() } as BinaryStore.ReadAction) == 10
+        data1.close()
+
+        cleanup:
+        store.close()
+    }
+
     def "data can be re-read"() {
         def store = new DefaultBinaryStore(temp.file("foo.bin"))
 
@@ -74,6 +74,40 @@ class MavenVersionListerTest extends Specification {
         0 * resource._
     }
 
+    def "ignores elements which do not list versions"() {
+        LocallyAvailableExternalResource resource = Mock()
+
+        when:
+        lister.listVersions(module, [pattern], result)
+        def versions = result.versions
+
+        then:
+        versions == ['1.1', '1.2'] as Set
+
+        and:
+        1 * resourceAccessor.getResource(metaDataResource, null, _, null) >> resource
+        1 * resource.withContent(_) >> { Action action -> action.execute(new ByteArrayInputStream("""<?xml version="1.0" encoding="UTF-8"?>
+<metadata>
+    <version>0.9</version>
+    <versioning>
+        <latest>1.2</latest>
+        <release>1.2</release>
+        <versions>
+            <version>
+                1.1
+            </version>
+            <version>1.2</version>
+        </versions>
+        <snapshotVersions>
+            <snapshotVersion>
+                <version>1.3</version>
+            </snapshotVersion>
+        </snapshotVersions>
+    </versioning>
+</metadata>""".bytes))
+        }
+    }
+
     def "builds union of versions"() {
         LocallyAvailableExternalResource resource1 = Mock()
         LocallyAvailableExternalResource resource2 = Mock()
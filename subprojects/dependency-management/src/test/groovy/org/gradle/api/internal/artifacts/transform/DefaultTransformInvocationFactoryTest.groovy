@@ -81,6 +81,7 @@ class DefaultTransformInvocationFactoryTest extends AbstractProjectBuilderSpec {
 
     def immutableTransformsStoreDirectory = temporaryFolder.file("output")
     def mutableTransformsStoreDirectory = temporaryFolder.file("child/build/transforms")
+    def readOnlyTransformsStoreDirectory = temporaryFolder.file("read-only-transforms")
 
     def classloaderHasher = Stub(ClassLoaderHierarchyHasher) {
         getClassLoaderHash(_ as ClassLoader) >> TestHashCodes.hashCodeFrom(1234)
@@ -93,6 +94,7 @@ class DefaultTransformInvocationFactoryTest extends AbstractProjectBuilderSpec {
     def fileCollectionSnapshotter = new DefaultFileCollectionSnapshotter(fileSystemAccess, TestFiles.fileSystem())
 
     def transformWorkspaceServices = new TestTransformWorkspaceServices(immutableTransformsStoreDirectory, executionHistoryStore)
+    def readOnlyWorkspaceStore = new ReadOnlyTransformWorkspaceStore(readOnlyTransformsStoreDirectory, TestFiles.deleter())
 
     def fileCollectionFactory = TestFiles.fileCollectionFactory()
     def artifactTransformListener = Mock(TransformExecutionListener)
@@ -165,7 +167,8 @@ class DefaultTransformInvocationFactoryTest extends AbstractProjectBuilderSpec {
         fileCollectionFactory,
         projectStateRegistry,
         buildOperationExecutor,
-        progressEventEmitter
+        progressEventEmitter,
+        readOnlyWorkspaceStore
     )
 
     private static class TestTransform implements Transform {
@@ -382,6 +385,35 @@ class DefaultTransformInvocationFactoryTest extends AbstractProjectBuilderSpec {
         transformInvocations == 2
     }
 
+    def "reuses workspace from the read-only transforms store"() {
+        def inputArtifact = temporaryFolder.file("input")
+        inputArtifact.text = "my input"
+        int transformInvocations = 0
+        def transform = TestTransform.create { input, outputDir ->
+            transformInvocations++
+            def outputFile = new File(outputDir, input.name)
+            outputFile.text = input.text + " transformed"
+            return [outputFile]
+        }
+
+        when:
+        invoke(transform, inputArtifact, dependencies, immutableDependency(inputArtifact), inputFingerprinter)
+        then:
+        transformInvocations == 1
+
+        when:
+        immutableTransformsStoreDirectory.copyTo(readOnlyTransformsStoreDirectory)
+        fileSystemAccess.write([immutableTransformsStoreDirectory.absolutePath], { -> immutableTransformsStoreDirectory.deleteDir() })
+        executionHistoryStore.executionHistory.clear()
+
+        def result = invoke(transform, inputArtifact, dependencies, immutableDependency(inputArtifact), inputFingerprinter)
+        then:
+        transformInvocations == 1
+        result.get().size() == 1
+        result.get()[0].text == "my input transformed"
+        result.get()[0].absolutePath.startsWith(immutableTransformsStoreDirectory.absolutePath)
+    }
+
     def "different workspace for different secondary inputs (#transformationType)"(TransformationType transformationType) {
         def inputArtifact = temporaryFolder.file("input")
         inputArtifact.text = "my input"
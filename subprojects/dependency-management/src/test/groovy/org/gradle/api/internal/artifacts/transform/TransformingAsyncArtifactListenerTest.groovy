@@ -66,7 +66,32 @@ class TransformingAsyncArtifactListenerTest extends Specification {
         then:
         1 * transformStep.createInvocation(_, _, _) >> invocation
         1 * invocation.getCompleted() >> Optional.empty()
-        1 * operationQueue.add(_ as BuildOperation)
+        1 * operationQueue.add(_ as ResolvedArtifactSet.BatchableOperation)
+    }
+
+    def "does not batch artifact transformations whose input artifact is not available yet"() {
+        def pendingArtifact = Stub(ResolvableArtifact) {
+            getId() >> artifactId
+            getFileSource() >> Stub(CalculatedValue) {
+                isFinalized() >> false
+            }
+        }
+
+        when:
+        listener.visitArtifacts(artifacts)
+        def artifacts = result.build()
+
+        then:
+        artifacts.size() == 1
+        1 * artifacts.visit(_) >> { ArtifactVisitor visitor -> visitor.visitArtifact(null, null, [], pendingArtifact) }
+        0 * _
+
+        when:
+        artifacts[0].startFinalization(operationQueue, true)
+
+        then:
+        0 * transformStep.createInvocation(_, _, _)
+        1 * operationQueue.add({ it instanceof BuildOperation && !(it instanceof ResolvedArtifactSet.BatchableOperation) })
     }
 
     def "runs cheap artifact transformations immediately when not scheduled"() {
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.component.model
+
+import org.gradle.api.attributes.Attribute
+import spock.lang.Specification
+
+class CachingAttributeSelectionSchemaTest extends Specification {
+    def attribute = Attribute.of("platform", String)
+    def delegate = Mock(AttributeSelectionSchema)
+    def schema = new CachingAttributeSelectionSchema(delegate)
+
+    def "executes compatibility rules once per requested and candidate value"() {
+        when:
+        def first = schema.matchValue(attribute, "jvm", "androidJvm")
+        def second = schema.matchValue(attribute, "jvm", "androidJvm")
+        def other = schema.matchValue(attribute, "jvm", "js")
+
+        then:
+        1 * delegate.matchValue(attribute, "jvm", "androidJvm") >> true
+        1 * delegate.matchValue(attribute, "jvm", "js") >> false
+        first
+        second
+        !other
+    }
+
+    def "does not execute compatibility rules for equal values"() {
+        expect:
+        schema.matchValue(attribute, "jvm", "jvm")
+
+        and:
+        0 * delegate._
+    }
+
+    def "executes disambiguation rules once per requested value and candidate values"() {
+        when:
+        def first = schema.disambiguate(attribute, "jvm", ["jvm", "androidJvm"] as Set)
+        def second = schema.disambiguate(attribute, "jvm", ["androidJvm", "jvm"] as Set)
+        def extra = schema.disambiguate(attribute, null, ["jvm", "androidJvm"] as Set)
+
+        then:
+        1 * delegate.disambiguate(attribute, "jvm", ["jvm", "androidJvm"] as Set) >> (["jvm"] as Set)
+        1 * delegate.disambiguate(attribute, null, ["jvm", "androidJvm"] as Set) >> null
+        first == ["jvm"] as Set
+        second == ["jvm"] as Set
+        extra == null
+    }
+
+    def "keeps a copy of the candidate values"() {
+        def candidates = ["jvm", "androidJvm"] as Set
+
+        when:
+        schema.disambiguate(attribute, "js", candidates)
+        candidates.add("js")
+        schema.disambiguate(attribute, "js", candidates)
+
+        then:
+        1 * delegate.disambiguate(attribute, "js", ["jvm", "androidJvm"] as Set) >> null
+        1 * delegate.disambiguate(attribute, "js", ["jvm", "androidJvm", "js"] as Set) >> (["js"] as Set)
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.execution.history.impl;
+
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.execution.history.AfterExecutionState;
+import org.gradle.internal.execution.history.ExecutionHistoryStore;
+import org.gradle.internal.execution.history.PreviousExecutionState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link ExecutionHistoryStore} that can load the previous execution state of work speculatively,
+ * before the work has been scheduled.
+ *
+ * Loading the previous execution state is read-only and does not depend on the outputs of any other work,
+ * so it can run ahead of scheduling for all work in a plan. When the work is eventually executed,
+ * {@link org.gradle.internal.execution.steps.LoadPreviousExecutionStateStep} picks up the already loaded state
+ * instead of deserializing it on the worker thread.
+ *
+ * A speculatively loaded state is discarded as soon as the history for the same key is modified.
+ */
+public class SpeculativeExecutionHistoryStore implements ExecutionHistoryStore, Stoppable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpeculativeExecutionHistoryStore.class);
+
+    private final ExecutionHistoryStore delegate;
+    private final ManagedExecutor executor;
+    private final ConcurrentMap<String, CompletableFuture<Optional<PreviousExecutionState>>> speculativeLoads = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public SpeculativeExecutionHistoryStore(ExecutionHistoryStore delegate, ManagedExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts loading the previous execution state for the given keys in the background.
+     */
+    public void preload(Iterable<String> keys) {
+        for (String key : keys) {
+            speculativeLoads.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> delegate.load(k), executor));
+        }
+    }
+
+    @Override
+    public Optional<PreviousExecutionState> load(String key) {
+        CompletableFuture<Optional<PreviousExecutionState>> speculativeLoad = speculativeLoads.remove(key);
+        if (speculativeLoad == null) {
+            misses.incrementAndGet();
+            return delegate.load(key);
+        }
+        hits.incrementAndGet();
+        try {
+            return speculativeLoad.get();
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        }
+    }
+
+    @Override
+    public void store(String key, boolean successful, AfterExecutionState executionState) {
+        discard(key);
+        delegate.store(key, successful, executionState);
+    }
+
+    @Override
+    public void remove(String key) {
+        discard(key);
+        delegate.remove(key);
+    }
+
+    private void discard(String key) {
+        CompletableFuture<Optional<PreviousExecutionState>> speculativeLoad = speculativeLoads.remove(key);
+        if (speculativeLoad != null) {
+            speculativeLoad.cancel(false);
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public void stop() {
+        speculativeLoads.values().forEach(speculativeLoad -> speculativeLoad.cancel(false));
+        speculativeLoads.clear();
+        executor.stop();
+        LOGGER.debug("Speculative execution history loads: {} hits, {} misses", hits.get(), misses.get());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.execution.history.impl
+
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.execution.history.AfterExecutionState
+import org.gradle.internal.execution.history.ExecutionHistoryStore
+import org.gradle.internal.execution.history.PreviousExecutionState
+import spock.lang.Specification
+
+class SpeculativeExecutionHistoryStoreTest extends Specification {
+    def delegate = Mock(ExecutionHistoryStore)
+    def executorFactory = new DefaultExecutorFactory()
+    def store = new SpeculativeExecutionHistoryStore(delegate, executorFactory.create("test"))
+
+    def cleanup() {
+        store.stop()
+        executorFactory.stop()
+    }
+
+    def "uses speculatively loaded state"() {
+        def previousState = Stub(PreviousExecutionState)
+
+        when:
+        store.preload([":a"])
+        def loaded = store.load(":a")
+
+        then:
+        1 * delegate.load(":a") >> Optional.of(previousState)
+        0 * _
+
+        and:
+        loaded.get() == previousState
+        store.hits == 1
+        store.misses == 0
+    }
+
+    def "loads state from delegate when it was not preloaded"() {
+        when:
+        def loaded = store.load(":b")
+
+        then:
+        1 * delegate.load(":b") >> Optional.empty()
+
+        and:
+        !loaded.present
+        store.hits == 0
+        store.misses == 1
+    }
+
+    def "speculatively loaded state is used only once"() {
+        when:
+        store.preload([":a"])
+        store.load(":a")
+        store.load(":a")
+
+        then:
+        2 * delegate.load(":a") >> Optional.empty()
+        store.hits == 1
+        store.misses == 1
+    }
+
+    def "discards speculatively loaded state when history is modified"() {
+        def executionState = Stub(AfterExecutionState)
+
+        when:
+        store.preload([":a", ":b"])
+        store.store(":a", true, executionState)
+        store.remove(":b")
+        store.load(":a")
+        store.load(":b")
+
+        then:
+        (1.._) * delegate.load(":a") >> Optional.empty()
+        (1.._) * delegate.load(":b") >> Optional.empty()
+        1 * delegate.store(":a", true, executionState)
+        1 * delegate.remove(":b")
+
+        and:
+        store.hits == 0
+        store.misses == 2
+    }
+}
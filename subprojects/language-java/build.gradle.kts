@@ -21,6 +21,7 @@ dependencies {
     implementation(project(":core"))
     implementation(project(":workers"))
     implementation(project(":snapshots"))
+    implementation(project(":normalization-java"))
     implementation(project(":execution"))
     implementation(project(":dependency-management"))
     implementation(project(":platform-base"))
@@ -64,6 +64,7 @@ public class JdkTools {
     private final boolean isJava9Compatible;
 
     private Class<JavaCompiler.CompilationTask> incrementalCompileTaskClass;
+    private volatile JavaCompiler systemJavaCompiler;
 
     JdkTools(Jvm jvm, List<File> compilerPlugins) {
         DefaultClassLoaderFactory defaultClassLoaderFactory = new DefaultClassLoaderFactory();
@@ -93,8 +94,22 @@ private ClassLoader getSystemFilteringClassLoader(ClassLoaderFactory classLoader
         return classLoaderFactory.createFilteringClassLoader(getSystemClassLoader(), filterSpec);
     }
 
+    /**
+     * Returns the system Java compiler. The compiler holds no state between compilation tasks, so a single instance
+     * is shared by all compilations that use these tools, rather than being looked up again for every compilation.
+     */
     public JavaCompiler getSystemJavaCompiler() {
-        return new DefaultIncrementalAwareCompiler(buildJavaCompiler());
+        JavaCompiler compiler = systemJavaCompiler;
+        if (compiler == null) {
+            synchronized (this) {
+                compiler = systemJavaCompiler;
+                if (compiler == null) {
+                    compiler = new DefaultIncrementalAwareCompiler(buildJavaCompiler());
+                    systemJavaCompiler = compiler;
+                }
+            }
+        }
+        return compiler;
     }
 
     private JavaCompiler buildJavaCompiler() {
@@ -16,6 +16,7 @@
 package org.gradle.api.internal.tasks.compile.incremental.classpath;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
 import org.gradle.api.file.FileVisitDetails;
 import org.gradle.api.file.FileVisitor;
 import org.gradle.api.internal.file.FileOperations;
@@ -26,12 +27,16 @@
 import org.gradle.internal.IoActions;
 import org.gradle.internal.hash.FileHasher;
 import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hashing;
 import org.gradle.internal.hash.StreamHasher;
+import org.gradle.internal.normalization.java.ApiClassExtractor;
+import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.InputStream;
+import java.util.Collections;
 
 import static org.gradle.internal.FileUtils.hasExtension;
 
@@ -42,6 +47,7 @@ public class DefaultClassSetAnalyzer implements ClassSetAnalyzer {
     private final StreamHasher hasher;
     private final ClassDependenciesAnalyzer analyzer;
     private final FileOperations fileOperations;
+    private final ApiClassExtractor apiClassExtractor = new ApiClassExtractor(Collections.emptySet());
 
     public DefaultClassSetAnalyzer(FileHasher fileHasher, StreamHasher streamHasher, ClassDependenciesAnalyzer analyzer, FileOperations fileOperations) {
         this.fileHasher = fileHasher;
@@ -105,7 +111,7 @@ public void visitFile(FileVisitDetails fileDetails) {
 
             try {
                 ClassAnalysis analysis = maybeStripToAbi(analyzer.getClassAnalysis(classFileHash, fileDetails));
-                accumulator.addClass(analysis, classFileHash);
+                accumulator.addClass(analysis, abiOnly ? getAbiHashCode(fileDetails, classFileHash) : classFileHash);
             } catch (Exception e) {
                 accumulator.fullRebuildNeeded(fileDetails.getName() + " could not be analyzed for incremental compilation. See the debug log for more details");
                 if (LOGGER.isDebugEnabled()) {
@@ -122,6 +128,26 @@ private ClassAnalysis maybeStripToAbi(ClassAnalysis analysis) {
             }
         }
 
+        /**
+         * Classes on the classpath are compared by their ABI rather than by their content, so that changes to method bodies
+         * or private members don't mark them as changed. This is the same ABI as used for compile avoidance, which also
+         * contains the values of inlineable constants.
+         */
+        private HashCode getAbiHashCode(FileVisitDetails fileDetails, HashCode classFileHash) {
+            try {
+                byte[] classBytes;
+                try (InputStream inputStream = fileDetails.open()) {
+                    classBytes = ByteStreams.toByteArray(inputStream);
+                }
+                return apiClassExtractor.extractApiClassFrom(new ClassReader(classBytes))
+                    .map(Hashing::hashBytes)
+                    .orElse(classFileHash);
+            } catch (Exception e) {
+                LOGGER.debug("Could not extract the ABI of {}, using the hash of the class file instead", fileDetails.getName(), e);
+                return classFileHash;
+            }
+        }
+
         protected abstract HashCode getHashCode(FileVisitDetails fileDetails);
     }
 
@@ -37,6 +37,11 @@ class JdkToolsTest extends Specification {
         compiler.class == current.systemJavaCompiler.class
     }
 
+    def "reuses java compiler"() {
+        expect:
+        current.systemJavaCompiler.is(current.systemJavaCompiler)
+    }
+
     def "throws when no tools"() {
         when:
         new JdkTools(Mock(Jvm) {
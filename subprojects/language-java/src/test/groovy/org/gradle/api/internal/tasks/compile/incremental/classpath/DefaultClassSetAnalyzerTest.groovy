@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.classpath
+
+import org.gradle.api.internal.cache.StringInterner
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.api.internal.tasks.compile.incremental.analyzer.DefaultClassDependenciesAnalyzer
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.MethodVisitor
+import org.objectweb.asm.Opcodes
+import spock.lang.Specification
+
+class DefaultClassSetAnalyzerTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def analyzer = new DefaultClassSetAnalyzer(TestFiles.fileHasher(), TestFiles.streamHasher(), new DefaultClassDependenciesAnalyzer(new StringInterner()), TestFiles.fileOperations(tmpDir.testDirectory))
+
+    def "classpath classes are not changed when only method bodies change"() {
+        def before = analyzer.analyzeClasspathEntry(classesDir("before", "Foo", "publicMethod", 1))
+        def after = analyzer.analyzeClasspathEntry(classesDir("after", "Foo", "publicMethod", 2))
+
+        expect:
+        after.getChangedClassesSince(before).allDependentClasses.empty
+    }
+
+    def "classpath classes are changed when their ABI changes"() {
+        def before = analyzer.analyzeClasspathEntry(classesDir("before", "Foo", "publicMethod", 1))
+        def after = analyzer.analyzeClasspathEntry(classesDir("after", "Foo", "otherPublicMethod", 1))
+
+        expect:
+        after.getChangedClassesSince(before).allDependentClasses == ["org.test.Foo"] as Set
+    }
+
+    def "output classes are changed when method bodies change"() {
+        def before = analyzer.analyzeOutputFolder(classesDir("before", "Foo", "publicMethod", 1))
+        def after = analyzer.analyzeOutputFolder(classesDir("after", "Foo", "publicMethod", 2))
+
+        expect:
+        after.getChangedClassesSince(before).allDependentClasses == ["org.test.Foo"] as Set
+    }
+
+    private File classesDir(String name, String className, String methodName, int returnValue) {
+        def dir = tmpDir.createDir(name)
+        def classFile = dir.file("org/test/${className}.class")
+        classFile.parentFile.mkdirs()
+        classFile.bytes = classBytes("org/test/" + className, methodName, returnValue)
+        dir
+    }
+
+    private static byte[] classBytes(String internalName, String methodName, int returnValue) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES)
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, internalName, null, "java/lang/Object", null)
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, methodName, "()I", null, null)
+        method.visitCode()
+        method.visitLdcInsn(returnValue)
+        method.visitInsn(Opcodes.IRETURN)
+        method.visitMaxs(0, 0)
+        method.visitEnd()
+        writer.visitEnd()
+        writer.toByteArray()
+    }
+}
@@ -45,6 +45,20 @@ class LargeDependencyGraphPerformanceTest extends AbstractCrossVersionPerformanc
         result.assertCurrentVersionHasNotRegressed()
     }
 
+    def "resolve large dependency graph from file repo with constrained heap"() {
+        given:
+        runner.tasksToRun = ['resolveDependencies']
+        runner.args = ["-PnoExcludes"]
+        // A small heap makes the allocation rate of the graph traversal dominate the measured time
+        runner.gradleOpts += ['-Xms384m', '-Xmx384m']
+
+        when:
+        def result = runner.run()
+
+        then:
+        result.assertCurrentVersionHasNotRegressed()
+    }
+
     def "resolve large dependency graph (parallel = #parallel, locking = #locking)"() {
         startServer()
 
@@ -412,14 +412,24 @@ static class AwaitableFileLockReleasedSignal implements FileLockReleasedSignal,
         private final Lock lock = new ReentrantLock();
         private final Condition condition = lock.newCondition();
         private int waiting;
+        // Remembers a release that happens while the waiter is retrying the lock, so that it does not sleep through it
+        private boolean released;
 
         public boolean await(long millis) throws InterruptedException {
             lock.lock();
             try {
-                waiting++;
-                return condition.await(millis, MILLISECONDS);
+                if (!released) {
+                    waiting++;
+                    try {
+                        condition.await(millis, MILLISECONDS);
+                    } finally {
+                        waiting--;
+                    }
+                }
+                boolean signaled = released;
+                released = false;
+                return signaled;
             } finally {
-                waiting--;
                 lock.unlock();
             }
         }
@@ -428,6 +438,7 @@ public boolean await(long millis) throws InterruptedException {
         public void trigger() {
             lock.lock();
             try {
+                released = true;
                 if (waiting > 0) {
                     condition.signalAll();
                 }
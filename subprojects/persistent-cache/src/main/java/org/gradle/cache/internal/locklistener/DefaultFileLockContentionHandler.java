@@ -27,14 +27,17 @@
 
 import java.net.DatagramPacket;
 import java.net.SocketAddress;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static org.gradle.cache.internal.locklistener.FileLockPacketType.LOCK_RELEASE_CONFIRMATION;
+import static org.gradle.cache.internal.locklistener.FileLockPacketType.UNLOCK_REQUEST;
 
 /**
  * The contention handler is responsible for negotiating the transfer of a lock from one process to another.
@@ -63,7 +66,8 @@
  *         if several Lock Requester compete for the same lock or if confirmation took too long and the same Requester retries.</li>
  *     <li>the message is sent back to the Lock Requester to confirm that the lock release is in progress</li>
  *     <li>when the contended action finishes, i.e. the lock has been released, all Lock Requesters will get another message
- *         to trigger an immediate retry</li>
+ *         to trigger an immediate retry. This also happens when the lock is closed without the contended action finishing.</li>
+ *     <li>if the lock has already been released, the message sent back to the Lock Requester triggers an immediate retry.</li>
  * </ul>
  * <p>
  * If this is the Lock Requester:
@@ -126,13 +130,20 @@ private void doRun() {
                     try {
                         ContendedAction contendedAction = contendedActions.get(payload.getLockId());
                         if (contendedAction == null) {
-                            acceptConfirmationAsLockRequester(payload, packet.getPort());
-                        } else {
-                            contendedAction.addRequester(packet.getSocketAddress());
+                            if (payload.getType() == UNLOCK_REQUEST) {
+                                // The lock is not held anymore, let the requester retry right away
+                                communicator.confirmLockRelease(Collections.singleton(packet.getSocketAddress()), payload.getLockId());
+                            } else {
+                                acceptConfirmationAsLockRequester(payload, packet.getPort());
+                            }
+                        } else if (contendedAction.addRequester(packet.getSocketAddress())) {
                             if (!contendedAction.running) {
                                 startLockReleaseAsLockHolder(contendedAction);
                             }
                             communicator.confirmUnlockRequest(packet.getSocketAddress(), payload.getLockId());
+                        } else {
+                            // The lock has already been released
+                            communicator.confirmLockRelease(Collections.singleton(packet.getSocketAddress()), payload.getLockId());
                         }
                     } finally {
                         lock.unlock();
@@ -224,7 +235,12 @@ private void assertNotStopped() {
     public void stop(long lockId) {
         lock.lock();
         try {
-            contendedActions.remove(lockId);
+            ContendedAction contendedAction = contendedActions.remove(lockId);
+            if (contendedAction != null) {
+                // The lock has been released without the contended action confirming it, e.g. because the lock was closed
+                // while the action was waiting for the current operation to finish, or because the action does not release the lock
+                contendedAction.confirmLockRelease();
+            }
         } finally {
             lock.unlock();
         }
@@ -283,28 +299,41 @@ private ContendedAction(long lockId, Action<FileLockReleasedSignal> action) {
         @Override
         public void run() {
             action.execute(new FileLockReleasedSignal() {
+                private final AtomicBoolean triggered = new AtomicBoolean();
+
                 @Override
                 public void trigger() {
-                    Set<SocketAddress> requesters = consumeRequesters();
-                    if (requesters == null) {
+                    if (!triggered.compareAndSet(false, true)) {
                         throw new IllegalStateException("trigger() has already been called and must at most be called once");
                     }
-                    communicator.confirmLockRelease(requesters, lockId);
+                    confirmLockRelease();
                 }
             });
         }
 
-        private void addRequester(SocketAddress contender) {
+        /**
+         * Adds a requester to notify when the lock is released, or returns false when the lock has already been released.
+         */
+        private boolean addRequester(SocketAddress contender) {
             lock.lock();
             try {
                 if (requesters != null) {
                     requesters.add(contender);
+                    return true;
                 }
+                return false;
             } finally {
                 lock.unlock();
             }
         }
 
+        private void confirmLockRelease() {
+            Set<SocketAddress> requesters = consumeRequesters();
+            if (requesters != null && !requesters.isEmpty()) {
+                communicator.confirmLockRelease(requesters, lockId);
+            }
+        }
+
         private Set<SocketAddress> consumeRequesters() {
             lock.lock();
             try {
@@ -71,4 +71,13 @@ class DefaultFileLockManagerAwaitableFileLockReleasedSignalTest extends Concurre
         then:
         notThrown(Exception)
     }
+
+    def "remembers signal triggered while no one is waiting"() {
+        when:
+        signal.trigger()
+
+        then:
+        signal.await(10000)
+        !signal.await(0)
+    }
 }
@@ -74,6 +74,57 @@ class DefaultFileLockContentionHandlerTest extends ConcurrentSpecification {
         }
     }
 
+    def "client receives signal when lock is closed without the contended action releasing it"() {
+        def signaled = new AtomicBoolean()
+        def contended = new AtomicBoolean()
+
+        when:
+        int port = handler.reservePort()
+        handler.start(10) { signal ->
+            contended.set(true)
+        }
+
+        client.reservePort()
+        client.start(11) {}
+        client.maybePingOwner(port, 10, "lock 1", 50000) {
+            signaled.set(true)
+        }
+
+        then:
+        poll {
+            assert contended.get()
+        }
+        !signaled.get()
+
+        when:
+        handler.stop(10)
+
+        then:
+        poll {
+            assert signaled.get()
+        }
+    }
+
+    def "client receives signal when requesting lock that has already been released"() {
+        def signaled = new AtomicBoolean()
+
+        when:
+        int port = handler.reservePort()
+        handler.start(10) {}
+        handler.stop(10)
+
+        client.reservePort()
+        client.start(11) {}
+        client.maybePingOwner(port, 10, "lock 1", 50000) {
+            signaled.set(true)
+        }
+
+        then:
+        poll {
+            assert signaled.get()
+        }
+    }
+
     def "there are only two executors: one lock request listener and one release lock action executor"() {
         def factory = Mock(ExecutorFactory)
         handler = new DefaultFileLockContentionHandler(factory, addressFactory)
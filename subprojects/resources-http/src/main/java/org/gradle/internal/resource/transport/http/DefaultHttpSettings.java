@@ -36,6 +36,7 @@
 public class DefaultHttpSettings implements HttpSettings {
     private static final int DEFAULT_MAX_REDIRECTS = 10;
     private static final int DEFAULT_MAX_CONNECTIONS = 20;
+    public static final String MAX_CONNECTIONS_SYSTEM_PROPERTY = "org.gradle.internal.http.maxConnections";
 
     private final Collection<Authentication> authenticationSettings;
     private final SslContextFactory sslContextFactory;
@@ -147,14 +148,24 @@ public HostnameVerifier getHostnameVerifier() {
         return hostnameVerifier;
     }
 
+    /**
+     * Determines the default number of concurrent connections of a client, per route and in total.
+     *
+     * @implNote To support the Gradle embedded test runner, this method's return value should not be cached in a static field.
+     */
+    private static int defaultMaxConnections() {
+        int maxConnections = Integer.getInteger(MAX_CONNECTIONS_SYSTEM_PROPERTY, DEFAULT_MAX_CONNECTIONS);
+        return maxConnections > 0 ? maxConnections : DEFAULT_MAX_CONNECTIONS;
+    }
+
     public static class Builder {
         private Collection<Authentication> authenticationSettings;
         private SslContextFactory sslContextFactory;
         private HostnameVerifier hostnameVerifier;
         private HttpRedirectVerifier redirectVerifier;
         private int maxRedirects = DEFAULT_MAX_REDIRECTS;
-        private int maxConnTotal = DEFAULT_MAX_CONNECTIONS;
-        private int maxConnPerRoute = DEFAULT_MAX_CONNECTIONS;
+        private int maxConnTotal = defaultMaxConnections();
+        private int maxConnPerRoute = defaultMaxConnections();
         private RedirectMethodHandlingStrategy redirectMethodHandlingStrategy = RedirectMethodHandlingStrategy.ALWAYS_FOLLOW_AND_PRESERVE;
 
         public Builder withAuthenticationSettings(Collection<Authentication> authenticationSettings) {
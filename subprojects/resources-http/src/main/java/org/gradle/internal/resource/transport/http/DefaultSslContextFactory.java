@@ -56,6 +56,11 @@ public SSLContext createSslContext() {
         return cache.getUnchecked(getCurrentProperties());
     }
 
+    @Override
+    public Object getSslConfiguration() {
+        return getCurrentProperties();
+    }
+
     private static Map<String, String> getCurrentProperties() {
         return SystemProperties.getInstance().withSystemProperties(() -> {
             Map<String, String> currentProperties = new TreeMap<>();
@@ -38,6 +38,8 @@
 import org.apache.http.client.utils.DateUtils;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.util.PublicSuffixMatcher;
 import org.apache.http.conn.util.PublicSuffixMatcherLoader;
@@ -49,6 +51,7 @@
 import org.apache.http.impl.auth.SPNegoSchemeFactory;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.SystemDefaultCredentialsProvider;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
 import org.apache.http.impl.cookie.DefaultCookieSpecProvider;
 import org.apache.http.impl.cookie.IgnoreSpecProvider;
@@ -153,6 +156,28 @@ private void configureSslSocketConnectionFactory(HttpClientBuilder builder, SslC
         builder.setSSLSocketFactory(new SSLConnectionSocketFactory(sslContextFactory.createSslContext(), sslProtocols, null, hostnameVerifier));
     }
 
+    /**
+     * Creates a connection manager equivalent to the one {@link #configure(HttpClientBuilder)} makes the builder create,
+     * so that it can be shared between clients using the same connection settings.
+     */
+    PoolingHttpClientConnectionManager createConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(httpSettings.getSslContextFactory().createSslContext(), sslProtocols, null, httpSettings.getHostnameVerifier()))
+                .build(),
+            null,
+            null,
+            null,
+            httpSettings.getTimeoutSettings().getIdleConnectionTimeoutMs(),
+            TimeUnit.MILLISECONDS
+        );
+        connectionManager.setDefaultSocketConfig(createSocketConfig());
+        connectionManager.setMaxTotal(httpSettings.getMaxConnTotal());
+        connectionManager.setDefaultMaxPerRoute(httpSettings.getMaxConnPerRoute());
+        return connectionManager;
+    }
+
     private void configureAuthSchemeRegistry(HttpClientBuilder builder) {
         builder.setDefaultAuthSchemeRegistry(RegistryBuilder.<AuthSchemeProvider>create()
             .register(AuthSchemes.BASIC, new BasicSchemeFactory())
@@ -292,8 +317,12 @@ private void configureRequestConfig(HttpClientBuilder builder) {
     }
 
     private void configureSocketConfig(HttpClientBuilder builder) {
+        builder.setDefaultSocketConfig(createSocketConfig());
+    }
+
+    private SocketConfig createSocketConfig() {
         HttpTimeoutSettings timeoutSettings = httpSettings.getTimeoutSettings();
-        builder.setDefaultSocketConfig(SocketConfig.custom().setSoTimeout(timeoutSettings.getSocketTimeoutMs()).setSoKeepAlive(true).build());
+        return SocketConfig.custom().setSoTimeout(timeoutSettings.getSocketTimeoutMs()).setSoKeepAlive(true).build();
     }
 
     private void configureRedirectStrategy(HttpClientBuilder builder) {
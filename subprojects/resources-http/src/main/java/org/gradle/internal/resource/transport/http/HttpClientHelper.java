@@ -57,9 +57,12 @@
 public class HttpClientHelper implements Closeable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientHelper.class);
+    private static final String IDENTITY_ENCODING = "identity";
     private CloseableHttpClient client;
     private final DocumentationRegistry documentationRegistry;
     private final HttpSettings settings;
+    @Nullable
+    private final SharedHttpConnectionPools sharedConnectionPools;
 
     private Collection<String> supportedTlsVersions;
 
@@ -77,8 +80,13 @@ public class HttpClientHelper implements Closeable {
      */
     @VisibleForTesting
     HttpClientHelper(DocumentationRegistry documentationRegistry, HttpSettings settings) {
+        this(documentationRegistry, settings, null);
+    }
+
+    private HttpClientHelper(DocumentationRegistry documentationRegistry, HttpSettings settings, @Nullable SharedHttpConnectionPools sharedConnectionPools) {
         this.documentationRegistry = documentationRegistry;
         this.settings = settings;
+        this.sharedConnectionPools = sharedConnectionPools;
         if (!settings.getAuthenticationSettings().isEmpty()) {
             sharedContext = new ConcurrentLinkedQueue<HttpContext>();
         } else {
@@ -103,6 +111,30 @@ public HttpClientResponse performGet(String source, boolean revalidate) {
         return processResponse(performRawGet(source, revalidate));
     }
 
+    /**
+     * Performs a GET for the content of the given resource that can later be continued with {@link #performRangeGet(String, long, String)}.
+     *
+     * Byte ranges refer to the encoded content, so the content is requested without any content encoding.
+     */
+    @Nonnull
+    public HttpClientResponse performResumableGet(String source, boolean revalidate) {
+        HttpGet request = new HttpGet(source);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, IDENTITY_ENCODING);
+        return processResponse(performRequest(request, revalidate));
+    }
+
+    /**
+     * Performs a GET for the content of the given resource from the given offset, provided the resource still matches the given validator.
+     */
+    @Nonnull
+    public HttpClientResponse performRangeGet(String source, long offset, String validator) {
+        HttpGet request = new HttpGet(source);
+        request.addHeader(HttpHeaders.RANGE, "bytes=" + offset + "-");
+        request.addHeader(HttpHeaders.IF_RANGE, validator);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, IDENTITY_ENCODING);
+        return processResponse(performRequest(request, false));
+    }
+
     public HttpClientResponse performRequest(HttpRequestBase request, boolean revalidate) {
         String method = request.getMethod();
         if (revalidate) {
@@ -254,6 +286,11 @@ private synchronized CloseableHttpClient getClient() {
             HttpClientBuilder builder = HttpClientBuilder.create();
             HttpClientConfigurer configurer = new HttpClientConfigurer(settings);
             configurer.configure(builder);
+            if (sharedConnectionPools != null && SharedHttpConnectionPools.isEnabled()) {
+                // Closing this client leaves the shared connections open for the other clients
+                builder.setConnectionManager(sharedConnectionPools.connectionManagerFor(settings, configurer));
+                builder.setConnectionManagerShared(true);
+            }
             this.supportedTlsVersions = configurer.supportedTlsVersions();
             this.client = builder.build();
         }
@@ -314,6 +351,13 @@ public interface Factory {
         static Factory createFactory(DocumentationRegistry documentationRegistry) {
             return settings -> new HttpClientHelper(documentationRegistry, settings);
         }
+
+        /**
+         * Creates a factory for clients which, when enabled, share their connections with the other clients using the same connection settings.
+         */
+        static Factory createFactory(DocumentationRegistry documentationRegistry, SharedHttpConnectionPools sharedConnectionPools) {
+            return settings -> new HttpClientHelper(documentationRegistry, settings, sharedConnectionPools);
+        }
     }
 
 }
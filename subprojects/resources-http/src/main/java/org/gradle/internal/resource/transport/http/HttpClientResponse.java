@@ -19,6 +19,7 @@
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.StatusLine;
+import org.apache.http.client.entity.DecompressingEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.utils.HttpClientUtils;
 
@@ -53,6 +54,13 @@ public InputStream getContent() throws IOException {
         return entity.getContent();
     }
 
+    /**
+     * Returns true when the content was decoded by the client, in which case it doesn't match the bytes sent by the server.
+     */
+    boolean isContentDecoded() {
+        return httpResponse.getEntity() instanceof DecompressingEntity;
+    }
+
     public StatusLine getStatusLine() {
         return httpResponse.getStatusLine();
     }
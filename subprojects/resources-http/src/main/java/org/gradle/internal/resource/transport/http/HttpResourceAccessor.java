@@ -16,6 +16,7 @@
 
 package org.gradle.internal.resource.transport.http;
 
+import org.apache.http.HttpHeaders;
 import org.gradle.internal.IoActions;
 import org.gradle.internal.resource.ExternalResourceName;
 import org.gradle.internal.resource.metadata.ExternalResourceMetaData;
@@ -25,15 +26,24 @@
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 
 public class HttpResourceAccessor extends AbstractExternalResourceAccessor implements ExternalResourceAccessor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpResourceAccessor.class);
+    public static final String RESUME_ATTEMPTS_SYSTEM_PROPERTY = "org.gradle.internal.http.download.resumeAttempts";
     private final HttpClientHelper http;
+    private final int resumeAttempts;
 
     public HttpResourceAccessor(HttpClientHelper http) {
+        this(http, Integer.getInteger(RESUME_ATTEMPTS_SYSTEM_PROPERTY, 0));
+    }
+
+    HttpResourceAccessor(HttpClientHelper http, int resumeAttempts) {
         this.http = http;
+        this.resumeAttempts = resumeAttempts;
     }
 
     @Override
@@ -42,6 +52,13 @@ public HttpResponseResource openResource(final ExternalResourceName location, bo
         String uri = location.getUri().toString();
         LOGGER.debug("Constructing external resource: {}", location);
 
+        if (resumeAttempts > 0) {
+            HttpClientResponse response = http.performResumableGet(uri, revalidate);
+            if (!response.wasMissing()) {
+                return new ResumableHttpResponseResource(location.getUri(), response);
+            }
+            return wrapResponse(location.getUri(), response);
+        }
         HttpClientResponse response = http.performGet(uri, revalidate);
         return wrapResponse(location.getUri(), response);
     }
@@ -79,4 +96,35 @@ private HttpResponseResource wrapResponse(URI uri, HttpClientResponse response)
         return new HttpResponseResource("GET", uri, response);
     }
 
+    /**
+     * A response whose content continues with range requests when the connection fails, if the server supports them.
+     *
+     * Only responses identified by a strong entity tag and whose content was not decoded by the client can be continued:
+     * byte ranges refer to the encoded content, and a Last-Modified date is too weak to guarantee that the ranges come
+     * from the same content.
+     */
+    private class ResumableHttpResponseResource extends HttpResponseResource {
+        ResumableHttpResponseResource(URI source, HttpClientResponse response) {
+            super("GET", source, response);
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            InputStream content = super.openStream();
+            String validator = getValidator();
+            if (validator == null || isContentDecoded() || !"bytes".equalsIgnoreCase(getHeaderValue(HttpHeaders.ACCEPT_RANGES))) {
+                return content;
+            }
+            return new ResumingHttpInputStream(http, getURI(), validator, content, resumeAttempts);
+        }
+
+        @Nullable
+        private String getValidator() {
+            String etag = getHeaderValue(HttpHeaders.ETAG);
+            if (etag != null && !etag.startsWith("W/")) {
+                return etag;
+            }
+            return null;
+        }
+    }
 }
@@ -44,8 +44,12 @@ SslContextFactory createSslContextFactory() {
             return new DefaultSslContextFactory();
         }
 
-        HttpClientHelper.Factory createHttpClientHelperFactory(DocumentationRegistry documentationRegistry) {
-            return HttpClientHelper.Factory.createFactory(documentationRegistry);
+        SharedHttpConnectionPools createSharedHttpConnectionPools() {
+            return new SharedHttpConnectionPools();
+        }
+
+        HttpClientHelper.Factory createHttpClientHelperFactory(DocumentationRegistry documentationRegistry, SharedHttpConnectionPools sharedConnectionPools) {
+            return HttpClientHelper.Factory.createFactory(documentationRegistry, sharedConnectionPools);
         }
 
         ResourceConnectorFactory createHttpConnectorFactory(SslContextFactory sslContextFactory, HttpClientHelper.Factory httpClientHelperFactory) {
@@ -124,6 +124,10 @@ public String getHeaderValue(String name) {
         return response.getHeader(name);
     }
 
+    boolean isContentDecoded() {
+        return response.isContentDecoded();
+    }
+
     public String getContentType() {
         return response.getHeader(HttpHeaders.CONTENT_TYPE);
     }
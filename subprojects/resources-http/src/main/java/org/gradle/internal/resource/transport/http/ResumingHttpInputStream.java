@@ -0,0 +1,133 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transport.http;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.gradle.internal.IoActions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * The content of an HTTP response which, when the connection fails while reading, continues from the
+ * current position with a range request instead of failing the whole download.
+ *
+ * A range response is only used when it is a partial response for the same version of the resource,
+ * as identified by the strong entity tag of the original response, which starts at the current position
+ * and whose content was not decoded by the client.
+ * Otherwise the original failure is rethrown.
+ */
+class ResumingHttpInputStream extends InputStream {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResumingHttpInputStream.class);
+
+    private final HttpClientHelper http;
+    private final URI source;
+    private final String validator;
+    private InputStream content;
+    @Nullable
+    private HttpClientResponse resumedResponse;
+    private long position;
+    private int remainingAttempts;
+
+    ResumingHttpInputStream(HttpClientHelper http, URI source, String validator, InputStream content, int maxAttempts) {
+        this.http = http;
+        this.source = source;
+        this.validator = validator;
+        this.content = content;
+        this.remainingAttempts = maxAttempts;
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (true) {
+            try {
+                int result = content.read();
+                if (result >= 0) {
+                    position++;
+                }
+                return result;
+            } catch (IOException e) {
+                resume(e);
+            }
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        while (true) {
+            try {
+                int count = content.read(b, off, len);
+                if (count > 0) {
+                    position += count;
+                }
+                return count;
+            } catch (IOException e) {
+                resume(e);
+            }
+        }
+    }
+
+    private void resume(IOException failure) throws IOException {
+        if (remainingAttempts <= 0) {
+            throw failure;
+        }
+        remainingAttempts--;
+        LOGGER.info("Download of {} failed after {} bytes, resuming it. [{}]", HttpClientHelper.stripUserCredentials(source), position, failure.getMessage());
+        IoActions.closeQuietly(content);
+        closeResumedResponse();
+
+        HttpClientResponse response;
+        try {
+            response = http.performRangeGet(source.toString(), position, validator);
+        } catch (Exception e) {
+            failure.addSuppressed(e);
+            throw failure;
+        }
+        resumedResponse = response;
+        if (response.getStatusLine().getStatusCode() != HttpStatus.SC_PARTIAL_CONTENT || response.isContentDecoded() || !startsAtPosition(response.getHeader(HttpHeaders.CONTENT_RANGE))) {
+            // The resource changed, the server ignored the range or encoded the content: the content can't be continued
+            closeResumedResponse();
+            throw failure;
+        }
+        content = response.getContent();
+    }
+
+    private boolean startsAtPosition(@Nullable String contentRange) {
+        return contentRange != null && contentRange.startsWith("bytes " + position + "-");
+    }
+
+    private void closeResumedResponse() {
+        if (resumedResponse != null) {
+            resumedResponse.close();
+            resumedResponse = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            content.close();
+        } finally {
+            closeResumedResponse();
+        }
+    }
+}
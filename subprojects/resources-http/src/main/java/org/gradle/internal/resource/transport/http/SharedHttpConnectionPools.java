@@ -0,0 +1,133 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transport.http;
+
+import com.google.common.base.Objects;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.gradle.internal.concurrent.CompositeStoppable;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connection pools shared by all the HTTP clients that use the same connection settings, so that kept-alive
+ * connections to a host are reused across repositories and across builds instead of being set up again by
+ * every client.
+ *
+ * Pools are only shared between clients that establish connections in the same way: the same TLS configuration,
+ * protocols and hostname verification, the same socket timeouts and the same connection limits. Connections which
+ * carry authentication state, like NTLM or client certificates, are tracked by the connection manager per
+ * user token and are never handed to a client with a different one.
+ *
+ * Clients are not told when repositories stop using them, so the size of a shared pool does not depend on the number of clients.
+ * Each pool has a fixed total limit instead, which is {@value #DEFAULT_MAX_CONNECTIONS} connections unless set with
+ * {@value #MAX_CONNECTIONS_SYSTEM_PROPERTY}, and never lower than the total limit of a single client. The limit per host is the one
+ * of a single client, so sharing a pool only limits the number of concurrent downloads from many different hosts.
+ */
+public class SharedHttpConnectionPools implements Closeable {
+    public static final String SHARED_CONNECTION_POOLS_SYSTEM_PROPERTY = "org.gradle.internal.http.sharedConnectionPools";
+    public static final String MAX_CONNECTIONS_SYSTEM_PROPERTY = "org.gradle.internal.http.sharedConnectionPools.maxConnections";
+    private static final int DEFAULT_MAX_CONNECTIONS = 100;
+
+    private final Map<ConnectionPoolKey, PoolingHttpClientConnectionManager> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Returns whether shared pools are enabled.
+     *
+     * @implNote To support the Gradle embedded test runner, this method's return value should not be cached in a static field.
+     */
+    static boolean isEnabled() {
+        return Boolean.getBoolean(SHARED_CONNECTION_POOLS_SYSTEM_PROPERTY);
+    }
+
+    PoolingHttpClientConnectionManager connectionManagerFor(HttpSettings settings, HttpClientConfigurer configurer) {
+        ConnectionPoolKey key = new ConnectionPoolKey(settings, configurer.supportedTlsVersions());
+        return pools.computeIfAbsent(key, k -> {
+            PoolingHttpClientConnectionManager connectionManager = configurer.createConnectionManager();
+            connectionManager.setMaxTotal(Math.max(settings.getMaxConnTotal(), maxConnTotal()));
+            return connectionManager;
+        });
+    }
+
+    /**
+     * Determines the number of connections a shared pool allows in total, across all the hosts it connects to.
+     *
+     * @implNote To support the Gradle embedded test runner, this method's return value should not be cached in a static field.
+     */
+    private static int maxConnTotal() {
+        int maxConnections = Integer.getInteger(MAX_CONNECTIONS_SYSTEM_PROPERTY, DEFAULT_MAX_CONNECTIONS);
+        return maxConnections > 0 ? maxConnections : DEFAULT_MAX_CONNECTIONS;
+    }
+
+    @Override
+    public void close() {
+        Collection<PoolingHttpClientConnectionManager> connectionManagers = new ArrayList<>(pools.values());
+        pools.clear();
+        CompositeStoppable.stoppable(connectionManagers).stop();
+    }
+
+    private static class ConnectionPoolKey {
+        private final Class<?> sslContextFactoryType;
+        private final Object sslConfiguration;
+        private final Class<?> hostnameVerifierType;
+        private final Collection<String> tlsVersions;
+        private final int socketTimeoutMs;
+        private final int idleConnectionTimeoutMs;
+        private final int maxConnTotal;
+        private final int maxConnPerRoute;
+        private final int hashCode;
+
+        ConnectionPoolKey(HttpSettings settings, Collection<String> tlsVersions) {
+            this.sslContextFactoryType = settings.getSslContextFactory().getClass();
+            this.sslConfiguration = settings.getSslContextFactory().getSslConfiguration();
+            this.hostnameVerifierType = settings.getHostnameVerifier().getClass();
+            this.tlsVersions = tlsVersions;
+            this.socketTimeoutMs = settings.getTimeoutSettings().getSocketTimeoutMs();
+            this.idleConnectionTimeoutMs = settings.getTimeoutSettings().getIdleConnectionTimeoutMs();
+            this.maxConnTotal = settings.getMaxConnTotal();
+            this.maxConnPerRoute = settings.getMaxConnPerRoute();
+            this.hashCode = Objects.hashCode(sslContextFactoryType, sslConfiguration, hostnameVerifierType, tlsVersions, socketTimeoutMs, idleConnectionTimeoutMs, maxConnTotal, maxConnPerRoute);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ConnectionPoolKey that = (ConnectionPoolKey) o;
+            return sslContextFactoryType.equals(that.sslContextFactoryType)
+                && sslConfiguration.equals(that.sslConfiguration)
+                && hostnameVerifierType.equals(that.hostnameVerifierType)
+                && tlsVersions.equals(that.tlsVersions)
+                && socketTimeoutMs == that.socketTimeoutMs
+                && idleConnectionTimeoutMs == that.idleConnectionTimeoutMs
+                && maxConnTotal == that.maxConnTotal
+                && maxConnPerRoute == that.maxConnPerRoute;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
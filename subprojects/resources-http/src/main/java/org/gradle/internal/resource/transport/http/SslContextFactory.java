@@ -20,4 +20,11 @@
 
 public interface SslContextFactory {
     SSLContext createSslContext();
+
+    /**
+     * Returns the inputs the SSL context is currently created from. Contexts created by factories of the same type from equal inputs establish connections in the same way.
+     */
+    default Object getSslConfiguration() {
+        return this;
+    }
 }
@@ -16,12 +16,26 @@
 
 package org.gradle.internal.resource.transport.http
 
+import org.apache.http.Header
+import org.apache.http.HttpEntity
 import org.apache.http.StatusLine
+import org.apache.http.client.entity.GzipDecompressingEntity
 import org.apache.http.client.methods.CloseableHttpResponse
+import org.apache.http.message.BasicHeader
+import org.apache.http.ssl.SSLContexts
+import org.gradle.api.internal.DocumentationRegistry
 import org.gradle.internal.resource.ExternalResourceName
+import org.gradle.test.fixtures.server.http.HttpServer
+import org.junit.Rule
 import spock.lang.Specification
 
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import java.util.zip.GZIPOutputStream
+
 class HttpResourceAccessorTest extends Specification {
+    @Rule HttpServer httpServer = new HttpServer()
+
     def uri = new URI("http://somewhere")
     def name = new ExternalResourceName(uri)
 
@@ -38,6 +52,152 @@ class HttpResourceAccessorTest extends Specification {
         1 * response.close()
     }
 
+    def "resumes download with a range request when the connection fails"() {
+        def original = httpResponse(200, failingAfter("hel"), ETag: '"abc"', 'Accept-Ranges': 'bytes')
+        def resumed = httpResponse(206, new ByteArrayInputStream("lo".bytes), 'Content-Range': 'bytes 3-4/5')
+        def http = Mock(HttpClientHelper) {
+            performResumableGet(uri.toString(), _) >> new HttpClientResponse("GET", uri, original)
+        }
+
+        when:
+        def content = new HttpResourceAccessor(http, 1).openResource(name, false).openStream().withCloseable { it.text }
+
+        then:
+        1 * http.performRangeGet(uri.toString(), 3, '"abc"') >> new HttpClientResponse("GET", uri, resumed)
+        content == "hello"
+        1 * resumed.close()
+    }
+
+    def "does not resume download when the server does not return the remaining content"() {
+        def original = httpResponse(200, failingAfter("hel"), ETag: '"abc"', 'Accept-Ranges': 'bytes')
+        def changed = httpResponse(200, new ByteArrayInputStream("other".bytes))
+        def http = Mock(HttpClientHelper) {
+            performResumableGet(uri.toString(), _) >> new HttpClientResponse("GET", uri, original)
+            performRangeGet(uri.toString(), 3, '"abc"') >> new HttpClientResponse("GET", uri, changed)
+        }
+
+        when:
+        new HttpResourceAccessor(http, 1).openResource(name, false).openStream().withCloseable { it.text }
+
+        then:
+        def e = thrown(IOException)
+        e.message == "broken"
+    }
+
+    def "does not resume download when the server does not support ranges"() {
+        def original = httpResponse(200, failingAfter("hel"), ETag: '"abc"')
+        def http = Mock(HttpClientHelper) {
+            performResumableGet(uri.toString(), _) >> new HttpClientResponse("GET", uri, original)
+        }
+
+        when:
+        new HttpResourceAccessor(http, 1).openResource(name, false).openStream().withCloseable { it.text }
+
+        then:
+        thrown(IOException)
+        0 * http.performRangeGet(_, _, _)
+    }
+
+    def "does not resume download identified by its modification date only"() {
+        def original = httpResponse(200, failingAfter("hel"), 'Last-Modified': 'Wed, 21 Oct 2015 07:28:00 GMT', 'Accept-Ranges': 'bytes')
+        def http = Mock(HttpClientHelper) {
+            performResumableGet(uri.toString(), _) >> new HttpClientResponse("GET", uri, original)
+        }
+
+        when:
+        new HttpResourceAccessor(http, 1).openResource(name, false).openStream().withCloseable { it.text }
+
+        then:
+        thrown(IOException)
+        0 * http.performRangeGet(_, _, _)
+    }
+
+    def "does not resume download when the content was decoded by the client"() {
+        def original = httpResponse(200, failingAfter("hel"), ETag: '"abc"', 'Accept-Ranges': 'bytes')
+        original.getEntity() >> Stub(GzipDecompressingEntity) {
+            getContent() >> failingAfter("hel")
+        }
+        def http = Mock(HttpClientHelper) {
+            performResumableGet(uri.toString(), _) >> new HttpClientResponse("GET", uri, original)
+        }
+
+        when:
+        new HttpResourceAccessor(http, 1).openResource(name, false).openStream().withCloseable { it.text }
+
+        then:
+        thrown(IOException)
+        0 * http.performRangeGet(_, _, _)
+    }
+
+    def "requests unencoded content and does not resume gzip encoded content"() {
+        def content = new byte[64 * 1024]
+        new Random(42).nextBytes(content)
+        def gzipped = new ByteArrayOutputStream()
+        new GZIPOutputStream(gzipped).withCloseable { it.write(content) }
+        def requestedEncoding = null
+        httpServer.expect("/file", false, ["GET"], new HttpServer.ActionSupport("return truncated gzipped content") {
+            void handle(HttpServletRequest request, HttpServletResponse response) {
+                requestedEncoding = request.getHeader("Accept-Encoding")
+                // A server that ignores the requested encoding, and whose connection breaks half way
+                response.setHeader("Content-Encoding", "gzip")
+                response.setHeader("ETag", '"abc"')
+                response.setHeader("Accept-Ranges", "bytes")
+                response.setContentLength(gzipped.size())
+                response.outputStream.write(gzipped.toByteArray(), 0, gzipped.size().intdiv(2) as int)
+                response.outputStream.flush()
+            }
+        })
+        httpServer.start()
+        def http = new HttpClientHelper(new DocumentationRegistry(), httpSettings)
+
+        when:
+        new HttpResourceAccessor(http, 1).openResource(new ExternalResourceName(httpServer.uri("/file")), false).openStream().withCloseable { it.bytes }
+
+        then:
+        thrown(IOException)
+        requestedEncoding == "identity"
+
+        cleanup:
+        http?.close()
+    }
+
+    private HttpSettings getHttpSettings() {
+        Stub(HttpSettings) {
+            getProxySettings() >> Mock(HttpProxySettings)
+            getSecureProxySettings() >> Mock(HttpProxySettings)
+            getTimeoutSettings() >> new JavaSystemPropertiesHttpTimeoutSettings()
+            getSslContextFactory() >> Mock(SslContextFactory) {
+                createSslContext() >> SSLContexts.createDefault()
+            }
+        }
+    }
+
+    private CloseableHttpResponse httpResponse(Map<String, String> headers = [:], int status, InputStream content) {
+        def response = Mock(CloseableHttpResponse)
+        def statusLine = Mock(StatusLine)
+        statusLine.getStatusCode() >> status
+        response.getStatusLine() >> statusLine
+        response.getFirstHeader(_) >> { String name -> headers.containsKey(name) ? new BasicHeader(name, headers[name]) as Header : null }
+        response.getEntity() >> Stub(HttpEntity) {
+            getContent() >> content
+        }
+        response
+    }
+
+    private static InputStream failingAfter(String text) {
+        def content = new ByteArrayInputStream(text.bytes)
+        new InputStream() {
+            @Override
+            int read() throws IOException {
+                int b = content.read()
+                if (b < 0) {
+                    throw new IOException("broken")
+                }
+                b
+            }
+        }
+    }
+
     private CloseableHttpResponse mockHttpResponse() {
         def response = Mock(CloseableHttpResponse)
         def statusLine = Mock(StatusLine)
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transport.http
+
+import org.apache.http.ssl.SSLContexts
+import org.gradle.internal.verifier.HttpRedirectVerifier
+import org.gradle.util.SetSystemProperties
+import org.junit.Rule
+import spock.lang.Specification
+
+class SharedHttpConnectionPoolsTest extends Specification {
+    @Rule
+    SetSystemProperties systemProperties = new SetSystemProperties()
+
+    def sslContextFactory = sslContextFactoryWith("default")
+    def pools = new SharedHttpConnectionPools()
+
+    def cleanup() {
+        pools.close()
+    }
+
+    def "shares connection manager between clients using the same connection settings"() {
+        def settings = settings()
+        def otherSettings = settings()
+
+        expect:
+        connectionManagerFor(settings).is(connectionManagerFor(otherSettings))
+    }
+
+    def "does not share connection manager between clients verifying connections differently"() {
+        def settings = settings()
+        def untrusted = DefaultHttpSettings.builder()
+            .withAuthenticationSettings([])
+            .withRedirectVerifier(Stub(HttpRedirectVerifier))
+            .allowUntrustedConnections()
+            .build()
+
+        expect:
+        !connectionManagerFor(settings).is(connectionManagerFor(untrusted))
+    }
+
+    def "does not share connection manager between clients with different connection limits"() {
+        def settings = settings()
+        def limited = DefaultHttpSettings.builder()
+            .withAuthenticationSettings([])
+            .withRedirectVerifier(Stub(HttpRedirectVerifier))
+            .withSslContextFactory(sslContextFactory)
+            .maxConnPerRoute(1)
+            .build()
+
+        expect:
+        !connectionManagerFor(settings).is(connectionManagerFor(limited))
+    }
+
+    def "shares connection manager between clients using the same SSL configuration"() {
+        def settings = settings(sslContextFactoryWith("default"))
+        def otherSettings = settings(sslContextFactoryWith("default"))
+
+        expect:
+        connectionManagerFor(settings).is(connectionManagerFor(otherSettings))
+    }
+
+    def "does not share connection manager between clients using a different SSL configuration"() {
+        def settings = settings()
+        def otherTrustStore = settings(sslContextFactoryWith("other trust store"))
+
+        expect:
+        !connectionManagerFor(settings).is(connectionManagerFor(otherTrustStore))
+    }
+
+    def "allows a fixed number of connections in total regardless of the number of clients"() {
+        def settings = settings()
+
+        when:
+        def connectionManager = connectionManagerFor(settings)
+        (1..10).each { connectionManagerFor(settings()) }
+
+        then:
+        connectionManager.maxTotal == 100
+        connectionManager.defaultMaxPerRoute == settings.maxConnPerRoute
+    }
+
+    def "total number of connections can be configured"() {
+        System.setProperty(SharedHttpConnectionPools.MAX_CONNECTIONS_SYSTEM_PROPERTY, "200")
+
+        expect:
+        connectionManagerFor(settings()).maxTotal == 200
+    }
+
+    private connectionManagerFor(HttpSettings settings) {
+        pools.connectionManagerFor(settings, new HttpClientConfigurer(settings))
+    }
+
+    private SslContextFactory sslContextFactoryWith(String configuration) {
+        Stub(SslContextFactory) {
+            createSslContext() >> { SSLContexts.createDefault() }
+            getSslConfiguration() >> configuration
+        }
+    }
+
+    private HttpSettings settings(SslContextFactory sslContextFactory = this.sslContextFactory) {
+        DefaultHttpSettings.builder()
+            .withAuthenticationSettings([])
+            .withRedirectVerifier(Stub(HttpRedirectVerifier))
+            .withSslContextFactory(sslContextFactory)
+            .build()
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.gradle.workers.internal;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import org.gradle.api.Action;
 import org.gradle.internal.Actions;
@@ -141,7 +142,7 @@ public WorkQueue processIsolation(Action<? super ProcessWorkerSpec> action) {
 
         return instantiator.newInstance(DefaultWorkQueue.class, this, spec, daemonWorkerFactory);
     }
-    private <T extends WorkParameters> AsyncWorkCompletion submitWork(Class<? extends WorkAction<T>> workActionClass, Action<? super T> parameterAction, WorkerSpec workerSpec, WorkerFactory workerFactory) {
+    private <T extends WorkParameters> WorkItemExecution submitWork(Class<? extends WorkAction<T>> workActionClass, Action<? super T> parameterAction, WorkerSpec workerSpec, WorkerFactory workerFactory) {
         Class<T> parameterType = isolationScheme.parameterTypeFor(workActionClass);
         T parameters = (parameterType == null) ? null : instantiator.newInstance(parameterType);
         if (parameters != null) {
@@ -161,7 +162,7 @@ private <T extends WorkParameters> AsyncWorkCompletion submitWork(Class<? extend
         return submitWork(spec, workerFactory, workerRequirement);
     }
 
-    private AsyncWorkCompletion submitWork(IsolatedParametersActionExecutionSpec<?> spec, WorkerFactory workerFactory, WorkerRequirement workerRequirement) {
+    private WorkItemExecution submitWork(IsolatedParametersActionExecutionSpec<?> spec, WorkerFactory workerFactory, WorkerRequirement workerRequirement) {
         checkIsManagedThread();
         final BuildOperationRef currentBuildOperation = buildOperationExecutor.getCurrentOperation();
         WorkItemExecution execution = new WorkItemExecution(spec.getDisplayName(), () -> {
@@ -202,13 +203,18 @@ public void await() throws WorkerExecutionException {
         }
     }
 
-    private void await(List<AsyncWorkCompletion> workItems) throws WorkExecutionException {
+    private void await(List<WorkItemExecution> workItems) throws WorkExecutionException {
         BuildOperationRef currentOperation = buildOperationExecutor.getCurrentOperation();
+        // Run the work items that have not been picked up by a worker yet in this thread, rather than blocking while they wait in the queue.
+        // This thread already holds a worker lease, so this avoids a lease acquisition and a thread hand-off per item.
+        for (WorkItemExecution workItem : workItems) {
+            workItem.runIfNotStarted();
+        }
         try {
             if (CollectionUtils.any(workItems, workItem -> !workItem.isComplete())) {
                 executionQueue.expand();
             }
-            asyncWorkTracker.waitForCompletion(currentOperation, workItems, RETAIN_PROJECT_LOCKS);
+            asyncWorkTracker.waitForCompletion(currentOperation, ImmutableList.copyOf(workItems), RETAIN_PROJECT_LOCKS);
         } catch (DefaultMultiCauseException e) {
             throw workerExecutionException(e.getCauses());
         }
@@ -276,6 +282,19 @@ public WorkItemExecution(String description, Callable<DefaultWorkResult> callabl
             this.description = description;
         }
 
+        /**
+         * Runs this work item in the current thread, unless a worker of the execution queue has already started it.
+         */
+        public void runIfNotStarted() {
+            if (markStarted()) {
+                try {
+                    getExecution().run();
+                } finally {
+                    complete();
+                }
+            }
+        }
+
         @Override
         public void waitForCompletion() {
             DefaultWorkResult result = await();
@@ -290,7 +309,7 @@ static class DefaultWorkQueue implements WorkQueue {
         private final DefaultWorkerExecutor workerExecutor;
         private final WorkerSpec spec;
         private final WorkerFactory workerFactory;
-        private final List<AsyncWorkCompletion> workItems = Lists.newArrayList();
+        private final List<WorkItemExecution> workItems = Lists.newArrayList();
 
         public DefaultWorkQueue(DefaultWorkerExecutor workerExecutor, WorkerSpec spec, WorkerFactory workerFactory) {
             this.workerExecutor = workerExecutor;
@@ -39,10 +39,15 @@
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 
 import static java.util.Comparator.*;
 
 public class WorkerDaemonClientsManager implements Stoppable {
+    /**
+     * The number of most recently used idle worker daemons that are kept alive when memory is released.
+     */
+    public static final String WARM_DAEMONS_PROPERTY_KEY = "org.gradle.workers.internal.warm-daemons";
 
     private static final Logger LOGGER = Logging.getLogger(WorkerDaemonClientsManager.class);
 
@@ -59,9 +64,16 @@ public class WorkerDaemonClientsManager implements Stoppable {
     private final OutputEventListener logLevelChangeEventListener;
     private final WorkerDaemonExpiration workerDaemonExpiration;
     private final MemoryManager memoryManager;
+    private final int warmDaemons;
     private volatile LogLevel currentLogLevel;
+    private int poolHits;
+    private int poolMisses;
 
     public WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, ListenerManager listenerManager, LoggingManagerInternal loggingManager, MemoryManager memoryManager, OsMemoryInfo memoryInfo) {
+        this(workerDaemonStarter, listenerManager, loggingManager, memoryManager, memoryInfo, Integer.getInteger(WARM_DAEMONS_PROPERTY_KEY, 0));
+    }
+
+    WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, ListenerManager listenerManager, LoggingManagerInternal loggingManager, MemoryManager memoryManager, OsMemoryInfo memoryInfo, int warmDaemons) {
         this.workerDaemonStarter = workerDaemonStarter;
         this.listenerManager = listenerManager;
         this.loggingManager = loggingManager;
@@ -72,6 +84,7 @@ public WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, Liste
         loggingManager.addOutputEventListener(logLevelChangeEventListener);
         this.currentLogLevel = loggingManager.getLevel();
         this.memoryManager = memoryManager;
+        this.warmDaemons = warmDaemons;
         this.workerDaemonExpiration = new WorkerDaemonExpiration(this, getTotalPhysicalMemory());
         memoryManager.addMemoryHolder(workerDaemonExpiration);
     }
@@ -83,9 +96,11 @@ public WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions) {
 
     WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions, List<WorkerDaemonClient> clients) {
         synchronized (lock) {
-            Iterator<WorkerDaemonClient> it = clients.iterator();
-            while (it.hasNext()) {
-                WorkerDaemonClient candidate = it.next();
+            // Clients are released to the end of the list, so search backwards to prefer the most recently used compatible client.
+            // It is the most likely to still have its JIT state warmed up.
+            ListIterator<WorkerDaemonClient> it = clients.listIterator(clients.size());
+            while (it.hasPrevious()) {
+                WorkerDaemonClient candidate = it.previous();
                 if (candidate.isCompatibleWith(forkOptions)) {
                     it.remove();
                     if (candidate.getLogLevel() != currentLogLevel) {
@@ -93,10 +108,12 @@ WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions, List<WorkerD
                         LOGGER.info("Log level has changed, stopping idle worker daemon with out-of-date log level.");
                         candidate.stop();
                     } else {
+                        poolHits++;
                         return candidate;
                     }
                 }
             }
+            poolMisses++;
             return null;
         }
     }
@@ -118,9 +135,22 @@ public void release(WorkerDaemonClient client) {
         }
     }
 
+    int getPoolHits() {
+        synchronized (lock) {
+            return poolHits;
+        }
+    }
+
+    int getPoolMisses() {
+        synchronized (lock) {
+            return poolMisses;
+        }
+    }
+
     @Override
     public void stop() {
         synchronized (lock) {
+            LOGGER.debug("Worker daemon pool: {} idle worker daemon(s) reused, {} requests found no compatible idle worker daemon.", poolHits, poolMisses);
             stopWorkers(allClients);
             allClients.clear();
             idleClients.clear();
@@ -142,11 +172,14 @@ private long getTotalPhysicalMemory() {
     /**
      * Select idle daemon clients to stop.
      *
+     * The configured number of most recently used idle daemon clients are kept warm and are never offered to the selection function.
+     *
      * @param selectionFunction Gets all idle daemon clients, daemons of returned clients are stopped
      */
     public void selectIdleClientsToStop(Transformer<List<WorkerDaemonClient>, List<WorkerDaemonClient>> selectionFunction) {
         synchronized (lock) {
-            List<WorkerDaemonClient> sortedClients = CollectionUtils.sort(idleClients, comparingInt(WorkerDaemonClient::getUses));
+            List<WorkerDaemonClient> candidates = idleClients.subList(0, Math.max(0, idleClients.size() - warmDaemons));
+            List<WorkerDaemonClient> sortedClients = CollectionUtils.sort(candidates, comparingInt(WorkerDaemonClient::getUses));
             List<WorkerDaemonClient> clientsToStop = selectionFunction.transform(new ArrayList<>(sortedClients));
             if (!clientsToStop.isEmpty()) {
                 stopWorkers(clientsToStop);
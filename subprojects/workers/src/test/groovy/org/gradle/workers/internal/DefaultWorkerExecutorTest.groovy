@@ -177,6 +177,48 @@ class DefaultWorkerExecutorTest extends Specification {
         }
     }
 
+    def "awaiting a work queue runs work items that have not been started in the awaiting thread"() {
+        def queue = workerExecutor.noIsolation()
+
+        when:
+        queue.submit(TestExecutable.class, Actions.doNothing())
+
+        then:
+        1 * workerThreadRegistry.workerThread >> true
+        1 * executionQueue.submit(_) >> { args -> task = args[0] }
+
+        when:
+        queue.await()
+
+        then:
+        1 * noIsolationWorkerFactory.getWorker(_) >> worker
+        1 * worker.execute(_, _) >> new DefaultWorkResult(true, null)
+        1 * asyncWorkTracker.waitForCompletion(_, [task], _)
+
+        and:
+        task.complete
+        !task.markStarted()
+    }
+
+    def "awaiting a work queue does not run work items that have already been started"() {
+        def queue = workerExecutor.noIsolation()
+
+        when:
+        queue.submit(TestExecutable.class, Actions.doNothing())
+
+        then:
+        1 * workerThreadRegistry.workerThread >> true
+        1 * executionQueue.submit(_) >> { args -> task = args[0] }
+
+        when:
+        task.markStarted()
+        queue.await()
+
+        then:
+        0 * noIsolationWorkerFactory.getWorker(_)
+        1 * asyncWorkTracker.waitForCompletion(_, [task], _)
+    }
+
     abstract static class TestExecutable implements WorkAction<WorkParameters.None> {
         @Override
         void execute() {
@@ -304,4 +304,71 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         then:
         1 * memoryManager.removeMemoryHolder(_) >> { args -> assert args[0] == workerDaemonExpiration }
     }
+
+    def "reserves most recently released compatible client"() {
+        def client1 = Mock(WorkerDaemonClient) {
+            isCompatibleWith(_) >> true
+            getLogLevel() >> LogLevel.LIFECYCLE
+        }
+        def client2 = Mock(WorkerDaemonClient) {
+            isCompatibleWith(_) >> true
+            getLogLevel() >> LogLevel.LIFECYCLE
+        }
+        loggingManager.getLevel() >> LogLevel.LIFECYCLE
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo())
+        starter.startDaemon(options, _) >>> [client1, client2]
+
+        when:
+        2.times { manager.reserveNewClient(options) }
+        manager.release(client1)
+        manager.release(client2)
+
+        then:
+        manager.reserveIdleClient(options) == client2
+        manager.reserveIdleClient(options) == client1
+    }
+
+    def "records idle client pool hits and misses"() {
+        def client = Mock(WorkerDaemonClient) {
+            isCompatibleWith(_) >> true
+            getLogLevel() >> LogLevel.LIFECYCLE
+        }
+        loggingManager.getLevel() >> LogLevel.LIFECYCLE
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo())
+        starter.startDaemon(options, _) >> client
+
+        when:
+        manager.reserveIdleClient(options)
+        manager.reserveNewClient(options)
+        manager.release(client)
+        manager.reserveIdleClient(options)
+
+        then:
+        manager.poolHits == 1
+        manager.poolMisses == 1
+    }
+
+    def "does not stop warm idle clients when releasing memory"() {
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), 1)
+        def client1 = Mock(WorkerDaemonClient) { _ * getUses() >> 5 }
+        def client2 = Mock(WorkerDaemonClient) { _ * getUses() >> 1 }
+        def client3 = Mock(WorkerDaemonClient) { _ * getUses() >> 3 }
+        starter.startDaemon(options, _) >>> [client1, client2, client3]
+        def stopAll = new Transformer<List<WorkerDaemonClient>, List<WorkerDaemonClient>>() {
+            @Override
+            List<WorkerDaemonClient> transform(List<WorkerDaemonClient> workerDaemonClients) {
+                return workerDaemonClients
+            }
+        }
+
+        when:
+        3.times { manager.reserveNewClient(options) }
+        [client1, client2, client3].each { manager.release(it) }
+        manager.selectIdleClientsToStop(stopAll)
+
+        then:
+        1 * client1.stop()
+        1 * client2.stop()
+        0 * client3.stop()
+    }
 }